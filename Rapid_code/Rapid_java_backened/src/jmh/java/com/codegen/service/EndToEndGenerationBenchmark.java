@@ -0,0 +1,57 @@
+package com.codegen.service;
+
+import com.codegen.model.GeneratorInput;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Runs generateFullSpringBootApp end to end for a batch of entities, with the database replaced by stand-ins.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@Fork(1)
+public class EndToEndGenerationBenchmark {
+
+    @Param({"5", "50", "500"})
+    public int fieldCount;
+
+    @Param({"1", "10", "100"})
+    public int entityCount;
+
+    private Path workDir;
+    private CodeGenService codeGenService;
+    private List<GeneratorInput> inputs;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        workDir = Files.createTempDirectory("codegen-jmh");
+        codeGenService = GeneratorFixtures.codeGenService(GeneratorFixtures.freemarkerConfigurer(), workDir);
+        inputs = new ArrayList<>(entityCount);
+        for (int i = 0; i < entityCount; i++) {
+            inputs.add(GeneratorFixtures.input("Entity" + i, fieldCount));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        FileSystemUtils.deleteRecursively(workDir);
+    }
+
+    @Benchmark
+    public int generate() {
+        int length = 0;
+        for (GeneratorInput input : inputs) {
+            length += codeGenService.generateFullSpringBootApp(input).getMessage().length();
+        }
+        return length;
+    }
+}
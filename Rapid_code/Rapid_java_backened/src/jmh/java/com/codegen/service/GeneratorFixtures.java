@@ -0,0 +1,112 @@
+package com.codegen.service;
+
+import com.codegen.model.GeneratorInput;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.servlet.view.freemarker.FreeMarkerConfigurer;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.mockito.Mockito.mock;
+
+/**
+ * Builds generator services and inputs for the benchmarks without a Spring context or database.
+ */
+final class GeneratorFixtures {
+
+    private static final String[] TYPES = {"String", "Integer", "Long", "BigDecimal", "LocalDate", "Boolean"};
+    private static final String[] UI_TYPES = {"textbox", "email", "date", "dropdown", "Checkbox", "radio-button"};
+
+    private static final GenerationMetrics METRICS = new GenerationMetrics(new SimpleMeterRegistry());
+
+    private GeneratorFixtures() {
+    }
+
+    static FreeMarkerConfigurer freemarkerConfigurer() throws Exception {
+        FreeMarkerConfigurer configurer = new FreeMarkerConfigurer();
+        configurer.setTemplateLoaderPath("classpath:/templates/");
+        configurer.setDefaultEncoding("UTF-8");
+        configurer.afterPropertiesSet();
+        return configurer;
+    }
+
+    /**
+     * Wires CodeGenService the way Spring would, with a mocked JdbcTemplate standing in for MySQL
+     * and every output directory redirected under {@code workDir}.
+     */
+    static CodeGenService codeGenService(FreeMarkerConfigurer freemarker, Path workDir) {
+        return codeGenService(freemarker, workDir, zipPackager(0));
+    }
+
+    static CodeGenService codeGenService(FreeMarkerConfigurer freemarker, Path workDir, ZipPackager zipPackager) {
+        ArtifactStore artifactStore = artifactStore(workDir);
+        CodeGenService codeGenService = new CodeGenService(freemarker, reactCodeGenService(freemarker, workDir, zipPackager),
+                dataBaseService(freemarker), mock(JdbcTemplate.class), METRICS, new BuildService(METRICS, artifactStore),
+                new CompilationCheckService(METRICS), zipPackager, artifactStore, new TypeMappingRegistry());
+        ReflectionTestUtils.setField(codeGenService, "outputPath", workDir.resolve("generated-app").toString());
+        return codeGenService;
+    }
+
+    static ArtifactStore artifactStore(Path workDir) {
+        ArtifactStore artifactStore = new ArtifactStore(new SimpleMeterRegistry());
+        ReflectionTestUtils.setField(artifactStore, "storePath", workDir.resolve("artifacts").toString());
+        ReflectionTestUtils.setField(artifactStore, "maxSizeMb", 512L);
+        artifactStore.init();
+        return artifactStore;
+    }
+
+    static ReactCodeGenService reactCodeGenService(FreeMarkerConfigurer freemarker, Path workDir) {
+        return reactCodeGenService(freemarker, workDir, zipPackager(0));
+    }
+
+    static ReactCodeGenService reactCodeGenService(FreeMarkerConfigurer freemarker, Path workDir, ZipPackager zipPackager) {
+        ReactCodeGenService reactService = new ReactCodeGenService(freemarker, METRICS, zipPackager);
+        ReflectionTestUtils.setField(reactService, "generatedComponentsPath", workDir.resolve("components").toString());
+        return reactService;
+    }
+
+    /**
+     * @param parallelism Deflate workers, or 0 for one per core.
+     */
+    static ZipPackager zipPackager(int parallelism) {
+        ZipPackager zipPackager = new ZipPackager();
+        ReflectionTestUtils.setField(zipPackager, "compressionLevel", 6);
+        ReflectionTestUtils.setField(zipPackager, "parallelism", parallelism);
+        return zipPackager;
+    }
+
+    static DataBaseService dataBaseService(FreeMarkerConfigurer freemarker) {
+        DataBaseService databaseService = new DataBaseService();
+        ReflectionTestUtils.setField(databaseService, "freemarkerConfig", freemarker);
+        ReflectionTestUtils.setField(databaseService, "generationMetrics", METRICS);
+        ReflectionTestUtils.setField(databaseService, "typeMappingRegistry", new TypeMappingRegistry());
+        return databaseService;
+    }
+
+    /**
+     * Creates {@code count} non-primary fields cycling through the supported Java and UI types.
+     */
+    static List<GeneratorInput.Field> fields(int count) {
+        List<GeneratorInput.Field> fields = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            String uiType = UI_TYPES[i % UI_TYPES.length];
+            List<String> options = new ArrayList<>();
+            if (uiType.equals("dropdown") || uiType.equals("Checkbox") || uiType.equals("radio-button")) {
+                options = List.of("alpha", "beta", "gamma");
+            }
+            fields.add(new GeneratorInput.Field("field" + i, TYPES[i % TYPES.length], false, uiType,
+                    options.size(), new ArrayList<>(options)));
+        }
+        return fields;
+    }
+
+    static GeneratorInput input(String entityName, int fieldCount) {
+        GeneratorInput input = new GeneratorInput();
+        input.setClassName("com.codegen.model." + entityName);
+        input.setFields(fields(fieldCount));
+        return input;
+    }
+}
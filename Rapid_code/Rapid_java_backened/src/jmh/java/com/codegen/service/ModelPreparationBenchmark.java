@@ -0,0 +1,46 @@
+package com.codegen.service;
+
+import com.codegen.model.GeneratorInput;
+import org.openjdk.jmh.annotations.*;
+
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures field preparation and template-model construction in CodeGenService.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModelPreparationBenchmark {
+
+    @Param({"5", "50", "500"})
+    public int fieldCount;
+
+    private CodeGenService codeGenService;
+    private GeneratorInput input;
+    private List<GeneratorInput.Field> preparedFields;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        codeGenService = GeneratorFixtures.codeGenService(GeneratorFixtures.freemarkerConfigurer(),
+                Files.createTempDirectory("codegen-jmh"));
+        input = GeneratorFixtures.input("Benchmark", fieldCount);
+        preparedFields = codeGenService.prepareFields(input.getFields());
+    }
+
+    @Benchmark
+    public List<GeneratorInput.Field> prepareFields() {
+        return codeGenService.prepareFields(input.getFields());
+    }
+
+    @Benchmark
+    public Map<String, Object> createTemplateModel() {
+        return codeGenService.createTemplateModel(input, "Benchmark", "com.codegen.model", preparedFields, "id");
+    }
+}
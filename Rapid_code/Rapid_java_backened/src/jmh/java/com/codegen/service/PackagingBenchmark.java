@@ -0,0 +1,89 @@
+package com.codegen.service;
+
+import com.codegen.model.GenerationManifest;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures zipping and deleting a generated project tree of a given field count, with a single deflate
+ * worker and with one per core.
+ * <p>
+ * Only the delete benchmark mutates the tree, so only its {@link ScratchTree} state re-copies it before
+ * every invocation; the zip benchmarks read the generated tree as is.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PackagingBenchmark {
+
+    @Param({"5", "50", "500"})
+    public int fieldCount;
+
+    // 0 = one deflate worker per core
+    @Param({"1", "0"})
+    public int zipParallelism;
+
+    /**
+     * A fresh copy of the generated tree for each invocation of the delete benchmark.
+     */
+    @State(Scope.Thread)
+    public static class ScratchTree {
+
+        private Path path;
+
+        @Setup(Level.Invocation)
+        public void copyTree(PackagingBenchmark benchmark) throws Exception {
+            path = benchmark.workDir.resolve("scratch");
+            FileSystemUtils.deleteRecursively(path);
+            FileSystemUtils.copyRecursively(benchmark.generatedApp, path);
+        }
+    }
+
+    private Path workDir;
+    private Path generatedApp;
+    private CodeGenService codeGenService;
+    private ReactCodeGenService reactCodeGenService;
+    private GenerationManifest manifest;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        workDir = Files.createTempDirectory("codegen-jmh");
+        generatedApp = workDir.resolve("generated-app");
+        ZipPackager zipPackager = GeneratorFixtures.zipPackager(zipParallelism);
+        codeGenService = GeneratorFixtures.codeGenService(GeneratorFixtures.freemarkerConfigurer(), workDir, zipPackager);
+        reactCodeGenService = GeneratorFixtures.reactCodeGenService(GeneratorFixtures.freemarkerConfigurer(), workDir, zipPackager);
+        codeGenService.generateFullSpringBootApp(GeneratorFixtures.input("Benchmark", fieldCount));
+        manifest = codeGenService.findManifest(generatedApp).orElseThrow();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        FileSystemUtils.deleteRecursively(workDir);
+    }
+
+    @Benchmark
+    public String zipGeneratedApp() {
+        return codeGenService.zipGeneratedApp(generatedApp.toString(), workDir.resolve("app.zip").toString());
+    }
+
+    @Benchmark
+    public Path zipFolder() throws Exception {
+        Path zipPath = workDir.resolve("react.zip");
+        Path reactDir = generatedApp.resolve("react");
+        reactCodeGenService.zipFolder(reactDir, manifest.getFilesUnder(reactDir), zipPath);
+        return zipPath;
+    }
+
+    @Benchmark
+    public boolean deleteDirectory(ScratchTree scratchTree) {
+        codeGenService.deleteDirectory(scratchTree.path.toFile());
+        return Files.exists(scratchTree.path);
+    }
+}
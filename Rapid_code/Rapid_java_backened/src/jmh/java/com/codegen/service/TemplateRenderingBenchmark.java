@@ -0,0 +1,90 @@
+package com.codegen.service;
+
+import com.codegen.model.GeneratorInput;
+import freemarker.template.Template;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.util.FileSystemUtils;
+import org.springframework.web.servlet.view.freemarker.FreeMarkerConfigurer;
+
+import java.io.StringWriter;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+/**
+ * Renders each generator template into memory with the same model the services build.
+ * <p>
+ * {@code relationshipType} adds a {@code customer} master to the model, which switches the entity,
+ * repository and service templates to their lazy association, entity graph and batch fetch paths.
+ * {@code ServiceTest.java.ftl} is only generated for a master, so without one it is rendered with a
+ * ManyToOne master. {@code RouteRegistry.js.ftl} registers {@code fieldCount} routes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TemplateRenderingBenchmark {
+
+    @Param({"Entity.java.ftl", "Repository.java.ftl", "Service.java.ftl", "Controller.java.ftl",
+            "Application.java.ftl", "ChangeBroadcaster.java.ftl", "Application.properties.ftl", "Pom.xml.ftl",
+            "ServiceTest.java.ftl", "BenchmarkPom.xml.ftl", "BenchmarkSamples.java.ftl",
+            "BenchmarkSerialization.java.ftl", "BenchmarkRepository.java.ftl", "BenchmarkLoadDriver.java.ftl",
+            "DatabaseScript.sql.ftl", "ReactCurdPage.ftl", "QueryCache.js.ftl", "RouteRegistry.js.ftl"})
+    public String templateName;
+
+    @Param({"5", "50", "500"})
+    public int fieldCount;
+
+    @Param({"none", "ManyToOne", "ManyToMany"})
+    public String relationshipType;
+
+    private Path workDir;
+    private Template template;
+    private Map<String, Object> model;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        FreeMarkerConfigurer freemarker = GeneratorFixtures.freemarkerConfigurer();
+        workDir = Files.createTempDirectory("codegen-jmh");
+        CodeGenService codeGenService = GeneratorFixtures.codeGenService(freemarker, workDir);
+
+        GeneratorInput input = GeneratorFixtures.input("Benchmark", fieldCount);
+        if (!relationshipType.equals("none")) {
+            input.setMasterTable("customer");
+            input.setRelationshipType(relationshipType);
+        } else if (templateName.equals("ServiceTest.java.ftl")) {
+            input.setMasterTable("customer");
+            input.setRelationshipType("ManyToOne");
+        }
+        List<GeneratorInput.Field> fields = codeGenService.prepareFields(input.getFields());
+        model = switch (templateName) {
+            case "ReactCurdPage.ftl" -> GeneratorFixtures.reactCodeGenService(freemarker, workDir)
+                    .createTemplateModel(input.getClassName(), "Benchmark", fields, "id");
+            case "DatabaseScript.sql.ftl" -> GeneratorFixtures.dataBaseService(freemarker)
+                    .createTemplateModel("Benchmark", fields, "id");
+            case "QueryCache.js.ftl" -> Map.of();
+            case "RouteRegistry.js.ftl" -> Map.of("routes", IntStream.range(0, fieldCount)
+                    .mapToObj(i -> Map.of("routePath", "/page" + i, "component", "Page" + i))
+                    .toList());
+            default -> codeGenService.createTemplateModel(input, "Benchmark", "com.codegen.model", fields, "id");
+        };
+        template = freemarker.getConfiguration().getTemplate(templateName);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws Exception {
+        FileSystemUtils.deleteRecursively(workDir);
+    }
+
+    @Benchmark
+    public int render() throws Exception {
+        StringWriter out = new StringWriter(8192);
+        template.process(model, out);
+        return out.getBuffer().length();
+    }
+}
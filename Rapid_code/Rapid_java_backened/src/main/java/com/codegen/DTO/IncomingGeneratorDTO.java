@@ -21,6 +21,12 @@ public class IncomingGeneratorDTO {
     private List<String> permissionLevels;
     private String masterTable; // New field for master table
     private String relationshipType; // New field for relationship type
+    private String performanceProfile; // "default" or "production"
+    private Boolean metricsEnabled; // Adds Actuator/Micrometer to the generated app
+    private Boolean benchmarksEnabled; // Emits a JMH/load-driver module next to the generated app
+    private Boolean validateCompilation; // Compiles the generated Java sources in-process
+    private Integer javaVersion; // Java release of the generated project (17 or 21); needs a matching build.java-home
+    private Boolean regenerate; // Generates again even when this exact input is the latest recorded generation
 
     @Getter
     @Setter
@@ -35,6 +41,9 @@ public class IncomingGeneratorDTO {
         private Integer numOptions; // Field for number of options
         @JsonProperty("optionValues")
         private List<String> optionValues; // Field for option values (e.g., ["me", "you", "us"])
+        private Integer length; // Column length of String fields
+        private Integer precision; // Total digits of BigDecimal fields
+        private Integer scale; // Fraction digits of BigDecimal fields
 
         // Ensure optionValues is never null
         public List<String> getOptionValues() {
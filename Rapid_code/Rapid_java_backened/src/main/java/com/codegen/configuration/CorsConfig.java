@@ -15,6 +15,10 @@ public class CorsConfig {
                     .allowedOrigins("http://localhost:3000")
                     .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS")
                     .allowedHeaders("*")
+                    // Lets the page builder back off for as long as a 429 asks, spot replayed generations
+                    // and show query profiles
+                    .exposedHeaders("Retry-After", "Idempotent-Replayed",
+                            "X-Query-Count", "X-Query-Time-Ms", "X-Query-N-Plus-One")
                     .allowCredentials(true); 
             }
         };
@@ -0,0 +1,116 @@
+package com.codegen.configuration;
+
+import com.codegen.service.QueryProfiler;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import net.ttddyy.dsproxy.support.ProxyDataSourceBuilder;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+
+/**
+ * Per-request JDBC profiling, enabled with {@code codegen.query-profiling.enabled=true}.
+ * <p>
+ * Wraps the data source in a datasource-proxy that reports every statement to {@link QueryProfiler},
+ * scopes a profile to each HTTP request, and returns the request's totals in the
+ * {@value #STATEMENTS_HEADER}, {@value #TIME_HEADER} and {@value #N_PLUS_ONE_HEADER} response headers.
+ * When disabled none of this is registered and the data source is used directly.
+ */
+@Configuration
+@ConditionalOnProperty(name = "codegen.query-profiling.enabled", havingValue = "true")
+public class QueryProfilingConfig {
+
+    public static final String STATEMENTS_HEADER = "X-Query-Count";
+    public static final String TIME_HEADER = "X-Query-Time-Ms";
+    public static final String N_PLUS_ONE_HEADER = "X-Query-N-Plus-One";
+
+    @Bean
+    public QueryProfiler queryProfiler(MeterRegistry meterRegistry,
+                                       @Value("${codegen.query-profiling.n-plus-one-threshold:5}") int nPlusOneThreshold) {
+        return new QueryProfiler(meterRegistry, nPlusOneThreshold);
+    }
+
+    // Static so the post-processor is registered before the data source is created
+    @Bean
+    public static BeanPostProcessor queryProfilingDataSourcePostProcessor(ObjectProvider<QueryProfiler> queryProfiler) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource) {
+                    return ProxyDataSourceBuilder.create(dataSource)
+                            .name(beanName)
+                            .listener(queryProfiler.getObject())
+                            .build();
+                }
+                return bean;
+            }
+        };
+    }
+
+    @Bean
+    public OncePerRequestFilter queryProfilingFilter(QueryProfiler queryProfiler) {
+        return new OncePerRequestFilter() {
+            @Override
+            protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response,
+                                            FilterChain filterChain) throws ServletException, IOException {
+                queryProfiler.begin();
+                try {
+                    filterChain.doFilter(request, response);
+                } finally {
+                    Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                    queryProfiler.end(pattern != null ? pattern.toString() : "unmapped");
+                }
+            }
+        };
+    }
+
+    /**
+     * Adds the totals as headers just before the body is written, while the response can still take them.
+     */
+    @ControllerAdvice
+    @ConditionalOnProperty(name = "codegen.query-profiling.enabled", havingValue = "true")
+    public static class QueryProfileHeaders implements ResponseBodyAdvice<Object> {
+
+        private final QueryProfiler queryProfiler;
+
+        public QueryProfileHeaders(QueryProfiler queryProfiler) {
+            this.queryProfiler = queryProfiler;
+        }
+
+        @Override
+        public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+            return true;
+        }
+
+        @Override
+        public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                      Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                      ServerHttpRequest request, ServerHttpResponse response) {
+            queryProfiler.current().ifPresent(profile -> {
+                response.getHeaders().set(STATEMENTS_HEADER, Integer.toString(profile.getStatementCount()));
+                response.getHeaders().set(TIME_HEADER, Long.toString(profile.getTotalTimeMs()));
+                response.getHeaders().set(N_PLUS_ONE_HEADER,
+                        Integer.toString(profile.getNPlusOneCandidates(queryProfiler.getNPlusOneThreshold()).size()));
+            });
+            return body;
+        }
+    }
+}
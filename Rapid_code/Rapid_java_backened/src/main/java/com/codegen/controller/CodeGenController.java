@@ -1,16 +1,27 @@
 package com.codegen.controller;
 
-import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 
 import com.codegen.DTO.IncomingGeneratorDTO;
+import com.codegen.model.BuildJob;
+import com.codegen.model.DynamicPageCreation;
+import com.codegen.model.GenerationResult;
+import com.codegen.service.AdmissionControl;
+import com.codegen.service.ArtifactStore;
+import com.codegen.service.BuildService;
 import com.codegen.service.DynamicPageService;
+import com.codegen.service.GenerationMetrics;
+import com.codegen.service.GenerationRegistry;
+import com.codegen.service.RequestDeduplicator;
+import com.codegen.service.TypeMappingRegistry;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -18,8 +29,10 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 import com.codegen.model.Role;
 import com.codegen.exception.RapidControllerException;
 import com.codegen.model.GeneratorInput;
@@ -36,6 +49,14 @@ import static freemarker.template.utility.StringUtil.capitalize;
 @CrossOrigin(origins = "http://localhost:3000")
 public class CodeGenController {
 
+    private static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    private static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    // Supported UI input types; anything else falls back to textbox
+    private static final List<String> SUPPORTED_INPUT_TYPES = Arrays.asList(
+            "email", "date", "dropdown", "textbox", "Checkbox", "radio-button"
+    );
+
     @Autowired
     private CodeGenService codeGenService;
 
@@ -46,6 +67,27 @@ public class CodeGenController {
     @Autowired
     private DynamicPageService dynamicPageService;
 
+    @Autowired
+    private GenerationMetrics generationMetrics;
+
+    @Autowired
+    private BuildService buildService;
+
+    @Autowired
+    private ArtifactStore artifactStore;
+
+    @Autowired
+    private AdmissionControl admissionControl;
+
+    @Autowired
+    private RequestDeduplicator requestDeduplicator;
+
+    @Autowired
+    private GenerationRegistry generationRegistry;
+
+    @Autowired
+    private TypeMappingRegistry typeMappingRegistry;
+
     @GetMapping("/hello")
     public String sayHello() {
         return "Hello from Spring Boot!";
@@ -124,8 +166,31 @@ public class CodeGenController {
 
 
 
+/**
+ * Generates the page; runs under the GENERATE admission limit, so a burst is answered with 429
+ * instead of queueing on the connection pool and disk. Duplicates of a request that is running or
+ * recently completed, by Idempotency-Key or by identical payload, share its result instead of
+ * generating again; such responses carry {@value #REPLAYED_HEADER}. A {@code regenerate} request is only
+ * replayed under its Idempotency-Key, never by payload. A route path generated for another
+ * table is rejected, and an input identical to the latest recorded generation is not generated again
+ * unless {@code regenerate} is set.
+ */
 @PostMapping("/generateApp")
-public ResponseEntity<Map<String, Object>> generateFullApp(@RequestBody @Valid IncomingGeneratorDTO input) {
+public ResponseEntity<Map<String, Object>> generateFullApp(
+        @RequestHeader(name = IDEMPOTENCY_KEY_HEADER, required = false) String idempotencyKey,
+        @RequestBody @Valid IncomingGeneratorDTO input) {
+    RequestDeduplicator.Outcome<ResponseEntity<Map<String, Object>>> outcome = requestDeduplicator.execute(
+            "generateApp", idempotencyKey, input, !Boolean.TRUE.equals(input.getRegenerate()),
+            () -> admissionControl.run(AdmissionControl.Operation.GENERATE, () -> generate(input)));
+    if (!outcome.shared()) {
+        return outcome.value();
+    }
+    return ResponseEntity.status(outcome.value().getStatusCode())
+            .header(REPLAYED_HEADER, "true")
+            .body(outcome.value().getBody());
+}
+
+private ResponseEntity<Map<String, Object>> generate(IncomingGeneratorDTO input) {
     // Validate required inputs upfront
     if (input.getTableName() == null || input.getTableName().trim().isEmpty()) {
         throw new RapidControllerException("Table name must not be null or empty");
@@ -142,45 +207,156 @@ public ResponseEntity<Map<String, Object>> generateFullApp(@RequestBody @Valid I
     if (input.getPermissionLevels() == null || input.getPermissionLevels().isEmpty()) {
         throw new RapidControllerException("Permission levels list must not be empty");
     }
-
-    // Define supported UI input types
-    final List<String> supportedInputTypes = Arrays.asList(
-            "email", "date", "dropdown", "textbox", "Checkbox", "radio-button"
-    );
+    if (input.getJavaVersion() != null && input.getJavaVersion() < GeneratorInput.DEFAULT_JAVA_RELEASE) {
+        throw new RapidControllerException("Java version must be " + GeneratorInput.DEFAULT_JAVA_RELEASE + " or newer");
+    }
+    generationRegistry.checkRoute(input.getTableName(), input.getRoutePath());
+
+    // Prepare GeneratorInput with fields, including UI type information
+    GeneratorInput generatorInput = toGeneratorInput(input);
+
+    // Skip every write when the latest recorded generation already came from this input and its menu entries exist
+    String inputHash = generationRegistry.hash(generatorInput);
+    Optional<DynamicPageCreation> current = Boolean.TRUE.equals(input.getRegenerate())
+            ? Optional.empty()
+            : generationRegistry.findCurrent(inputHash);
+    if (current.isPresent()) {
+        Optional<Long> existingMenuId = dynamicPageService.findMenuId(input.getMenuName());
+        Optional<Long> existingSubMenuId = existingMenuId
+                .flatMap(id -> dynamicPageService.findSubMenuId(id, input.getSubMenuName()));
+        if (existingSubMenuId.isPresent()) {
+            log.info("Table {} is already generated from input {}, skipping generation", input.getTableName(), inputHash);
+            return alreadyGenerated(current.get(), existingMenuId.get(), existingSubMenuId.get());
+        }
+        log.info("Table {} is generated from input {} but its menu entries are missing, generating again",
+                input.getTableName(), inputHash);
+    }
 
     // Here we can set createdBy from logged-in user or static for now
     String createdBy = "system";
 
     // 1. Get or create Menu, get menuId
-    Long menuId = dynamicPageService.getOrCreateMenu(input.getMenuName(), createdBy);
+    Long menuId = generationMetrics.record(GenerationMetrics.STAGE_MENU_UPSERT,
+            () -> dynamicPageService.getOrCreateMenu(input.getMenuName(), createdBy));
 
     // 2. Create or update SubMenu, get subMenuId
-    Long subMenuId = dynamicPageService.createOrUpdateSubMenu(
-            menuId, input.getSubMenuName(), input.getDescription(), input.getRoutePath(), createdBy
-    );
+    Long subMenuId = generationMetrics.record(GenerationMetrics.STAGE_MENU_UPSERT,
+            () -> dynamicPageService.createOrUpdateSubMenu(
+                    menuId, input.getSubMenuName(), input.getDescription(), input.getRoutePath(), createdBy
+            ));
 
-    // 3. Get permission level IDs map for given names
-    Map<String, Long> permissionLevelIds = dynamicPageService.getPermissionLevelIdsByNames(input.getPermissionLevels());
+    // 3-5. Resolve permission levels and roles, then create or update RolePermission entries
+    generationMetrics.record(GenerationMetrics.STAGE_PERMISSIONS, () -> {
+        Map<String, Long> permissionLevelIds = dynamicPageService.getPermissionLevelIdsByNames(input.getPermissionLevels());
 
-    if (permissionLevelIds.isEmpty()) {
-        throw new RapidControllerException("No valid permission levels found for given names");
-    }
+        if (permissionLevelIds.isEmpty()) {
+            throw new RapidControllerException("No valid permission levels found for given names");
+        }
 
-    // 4. Get all roles from DB
-    List<Role> roles = dynamicPageService.getAllRoles();
+        List<Role> roles = dynamicPageService.getAllRoles();
 
-    // 5. Create or update RolePermission entries for each role and permission level
-    for (Role role : roles) {
-        for (Long permLevelId : permissionLevelIds.values()) {
-            dynamicPageService.createOrUpdateRolePermission(role.getId(), menuId, subMenuId, permLevelId, createdBy);
+        for (Role role : roles) {
+            for (Long permLevelId : permissionLevelIds.values()) {
+                dynamicPageService.createOrUpdateRolePermission(role.getId(), menuId, subMenuId, permLevelId, createdBy);
+            }
         }
+    });
+
+    // 6. Generate the app
+    long startTime = System.nanoTime();
+    GenerationResult generationResult = codeGenService.generateFullSpringBootApp(generatorInput);
+    String generationMessage = generationResult.getMessage();
+    DynamicPageCreation generation = generationRegistry.record(input.getTableName(), input.getPageName(),
+            input.getRoutePath(), inputHash, generationResult.getOutputPath(), generationResult.getArtifactPath(),
+            (System.nanoTime() - startTime) / 1_000_000);
+
+    // 7. Prepare response with success, message and data
+    Map<String, Object> response = new HashMap<>();
+    response.put("success", true);
+
+    String message = String.format(
+            "Page Created Successfully\nYour dynamic page \"%s\" has been created! Menu ID: %d, Sub-Menu ID: %d. Backend API endpoints and React component generated. Click \"Reload & View Page\" to navigate.",
+            input.getPageName(), menuId, subMenuId
+    );
+    response.put("message", generationMessage != null ? generationMessage : message);
+
+    Map<String, Object> data = new HashMap<>();
+    data.put("menuId", menuId);
+    data.put("subMenuId", subMenuId);
+    data.put("generationId", generation.getDynamicPageId());
+    data.put("alreadyGenerated", false);
+    if (generationResult.getCompilationReport() != null) {
+        data.put("compileCheck", generationResult.getCompilationReport());
+    }
+    response.put("data", data);
+
+    return ResponseEntity.ok(response);
+}
+
+private ResponseEntity<Map<String, Object>> alreadyGenerated(DynamicPageCreation generation, Long menuId, Long subMenuId) {
+    Map<String, Object> response = new HashMap<>();
+    response.put("success", true);
+    response.put("message", String.format(
+            "Page \"%s\" is already generated from this input (generated at %s in %d ms). Set regenerate to generate it again.",
+            generation.getPageName(), generation.getGeneratedAt(), generation.getDurationMs()));
+
+    Map<String, Object> data = new HashMap<>();
+    data.put("menuId", menuId);
+    data.put("subMenuId", subMenuId);
+    data.put("generationId", generation.getDynamicPageId());
+    data.put("alreadyGenerated", true);
+    data.put("generatedAt", generation.getGeneratedAt());
+    data.put("artifact", generation.getArtifactPath() != null
+            ? Paths.get(generation.getArtifactPath()).getFileName().toString()
+            : null);
+    response.put("data", data);
+    return ResponseEntity.ok(response);
+}
+
+/**
+ * Renders one generated file for the page being edited, e.g. Entity.java.ftl or ReactCurdPage.ftl,
+ * in memory. Nothing is generated, recorded or written, so it is cheap enough to call per keystroke.
+ */
+@PostMapping("/preview/{templateName}")
+public ResponseEntity<Map<String, Object>> previewTemplate(@PathVariable String templateName,
+                                                           @RequestBody @Valid IncomingGeneratorDTO input) {
+    if (input.getTableName() == null || input.getTableName().trim().isEmpty()) {
+        throw new RapidControllerException("Table name must not be null or empty");
     }
+    long startTime = System.nanoTime();
+    String content = codeGenService.previewTemplate(toGeneratorInput(input), templateName);
+
+    Map<String, Object> response = new HashMap<>();
+    response.put("success", true);
+    response.put("message", "Preview of " + templateName);
+    Map<String, Object> data = new HashMap<>();
+    data.put("template", templateName);
+    data.put("content", content);
+    data.put("durationMicros", (System.nanoTime() - startTime) / 1_000);
+    response.put("data", data);
+    return ResponseEntity.ok(response);
+}
+
+@GetMapping("/preview")
+public ResponseEntity<Map<String, Object>> previewTemplates() {
+    Map<String, Object> response = new HashMap<>();
+    response.put("success", true);
+    response.put("message", "Templates available for preview");
+    response.put("data", new TreeSet<>(codeGenService.getPreviewTemplates()));
+    return ResponseEntity.ok(response);
+}
 
-    // 6. Prepare GeneratorInput with fields, including UI type information
+private GeneratorInput toGeneratorInput(IncomingGeneratorDTO input) {
     GeneratorInput generatorInput = new GeneratorInput();
     generatorInput.setClassName("com.codegen.model." + input.getTableName()); // Capitalization will be handled in service
     generatorInput.setMasterTable(input.getMasterTable()); // Will be null if not in JSON
     generatorInput.setRelationshipType(input.getRelationshipType()); // Will be null if not in JSON
+    generatorInput.setPerformanceProfile(input.getPerformanceProfile()); // Defaults to the dev profile when null
+    generatorInput.setMetricsEnabled(input.getMetricsEnabled()); // No instrumentation when null
+    generatorInput.setBenchmarksEnabled(input.getBenchmarksEnabled()); // No benchmarks module when null
+    generatorInput.setValidateCompilation(input.getValidateCompilation()); // No compile check when null
+    generatorInput.setRoutePath(input.getRoutePath());
+    generatorInput.setJavaVersion(input.getJavaVersion()); // Java 17 when null
     List<GeneratorInput.Field> fields = new ArrayList<>();
     if (input.getFields() != null) {
         for (IncomingGeneratorDTO.IncomingField incomingField : input.getFields()) {
@@ -199,9 +375,15 @@ public ResponseEntity<Map<String, Object>> generateFullApp(@RequestBody @Valid I
             field.setType(incomingField.getType()); // No defaulting to "String" anymore
             field.setPrimary(incomingField.getPrimary() != null && incomingField.getPrimary());
 
-            // Set UI type, validate against supported types, default to textbox if invalid
-            String uiType = incomingField.getUiType() != null ? incomingField.getUiType() : "textbox";
-            if (!supportedInputTypes.contains(uiType)) {
+            field.setLength(incomingField.getLength());
+            field.setPrecision(incomingField.getPrecision());
+            field.setScale(incomingField.getScale());
+
+            // Set UI type, validate against supported types, default by field type when missing and to textbox if invalid
+            String uiType = incomingField.getUiType() != null
+                    ? incomingField.getUiType()
+                    : typeMappingRegistry.defaultUiType(field.getType());
+            if (!SUPPORTED_INPUT_TYPES.contains(uiType)) {
                 uiType = "textbox"; // Fallback to textbox if uiType is unsupported
             }
             field.setUiType(uiType);
@@ -217,44 +399,85 @@ public ResponseEntity<Map<String, Object>> generateFullApp(@RequestBody @Valid I
         throw new RapidControllerException("At least one valid field with non-empty name is required");
     }
     generatorInput.setFields(fields);
+    return generatorInput;
+}
 
-    // 7. Call codeGenService to generate app
-    String generationMessage = codeGenService.generateFullSpringBootApp(generatorInput);
+    /**
+     * Queues a Maven build of the generated project and returns immediately; poll the status
+     * endpoint or stream the logs to follow it.
+     */
+    @PostMapping("/build")
+    public ResponseEntity<Map<String, Object>> startBuild() {
+        BuildJob job = admissionControl.run(AdmissionControl.Operation.BUILD,
+                () -> buildService.submit(codeGenService.getOutputPath()));
+
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Build queued");
+        response.put("data", buildStatus(job));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(response);
+    }
 
-    // 8. Prepare response with success, message and data
-    Map<String, Object> response = new HashMap<>();
-    response.put("success", true);
+    @GetMapping("/build/{buildId}")
+    public ResponseEntity<Map<String, Object>> getBuild(@PathVariable String buildId) {
+        BuildJob job = buildService.find(buildId)
+                .orElseThrow(() -> new RapidControllerException("Unknown build: " + buildId));
 
-    String message = String.format(
-            "Page Created Successfully\nYour dynamic page \"%s\" has been created! Menu ID: %d, Sub-Menu ID: %d. Backend API endpoints and React component generated. Click \"Reload & View Page\" to navigate.",
-            input.getPageName(), menuId, subMenuId
-    );
-    response.put("message", generationMessage != null ? generationMessage : message);
+        Map<String, Object> response = new HashMap<>();
+        response.put("success", true);
+        response.put("message", "Build " + job.getStatus());
+        response.put("data", buildStatus(job));
+        return ResponseEntity.ok(response);
+    }
 
-    Map<String, Object> data = new HashMap<>();
-    data.put("menuId", menuId);
-    data.put("subMenuId", subMenuId);
-    response.put("data", data);
+    @GetMapping(value = "/build/{buildId}/logs", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamBuildLogs(@PathVariable String buildId) {
+        if (buildService.find(buildId).isEmpty()) {
+            throw new RapidControllerException("Unknown build: " + buildId);
+        }
+        return buildService.streamLog(buildId);
+    }
 
-    return ResponseEntity.ok(response);
-}
+    private Map<String, Object> buildStatus(BuildJob job) {
+        Map<String, Object> data = new HashMap<>();
+        data.put("buildId", job.getId());
+        data.put("status", job.getStatus());
+        data.put("exitCode", job.getExitCode());
+        data.put("submittedAt", job.getSubmittedAt());
+        data.put("startedAt", job.getStartedAt());
+        data.put("finishedAt", job.getFinishedAt());
+        data.put("fingerprint", job.getFingerprint());
+        data.put("cacheHit", job.isCacheHit());
+        data.put("artifact", job.getArtifact() != null ? job.getArtifact().getFileName().toString() : null);
+        data.put("queued", buildService.getQueuedCount());
+        data.put("running", buildService.getRunningCount());
+        return data;
+    }
 
     @GetMapping("/download/{fileName}")
     public ResponseEntity<byte[]> downloadFile(@PathVariable String fileName) throws IOException {
+        // Files are read fully into memory, so concurrent downloads are bounded
+        return admissionControl.run(AdmissionControl.Operation.DOWNLOAD, () -> download(fileName));
+    }
 
-        String filePath = "generated-app/target/" + fileName;
-        File file = new File(filePath);
-
+    private ResponseEntity<byte[]> download(String fileName) throws IOException {
 
-        log.info("Generated file path: {}", filePath);
-        if (!file.exists()) {
-            log.error("File not found: {}", filePath);
-            return ResponseEntity.status(HttpStatus.NOT_FOUND).body("File not found".getBytes());
-        }
+        // Built JARs and archives come from the artifact store, leased so they are not evicted mid-read;
+        // other generated files from the generation manifest
+        byte[] fileContent;
+        try (ArtifactStore.Lease lease = artifactStore.lease(fileName).orElse(null)) {
+            Optional<Path> filePath = Optional.ofNullable(lease).map(ArtifactStore.Lease::file)
+                    .or(() -> codeGenService.findManifest(Paths.get(codeGenService.getOutputPath()))
+                            .flatMap(manifest -> manifest.findByFileName(fileName)));
 
+            log.info("Generated file path: {}", filePath.orElse(null));
+            if (filePath.isEmpty() || !Files.isRegularFile(filePath.get())) {
+                log.error("File not found: {}", fileName);
+                return ResponseEntity.status(HttpStatus.NOT_FOUND).body("File not found".getBytes());
+            }
 
-        InputStream inputStream = new FileInputStream(file);
-        byte[] fileContent = inputStream.readAllBytes();
+            fileContent = Files.readAllBytes(filePath.get());
+        }
 
 
         HttpHeaders headers = new HttpHeaders();
@@ -0,0 +1,18 @@
+package com.codegen.exception;
+
+import lombok.Getter;
+
+/**
+ * Thrown when a request is turned away because the server is at capacity; answered with 429 and a
+ * {@code Retry-After} header.
+ */
+@Getter
+public class TooManyRequestsException extends RuntimeException {
+
+    private final long retryAfterSeconds;
+
+    public TooManyRequestsException(String message, long retryAfterSeconds) {
+        super(message);
+        this.retryAfterSeconds = retryAfterSeconds;
+    }
+}
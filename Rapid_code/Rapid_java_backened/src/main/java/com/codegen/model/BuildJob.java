@@ -0,0 +1,70 @@
+package com.codegen.model;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * State of one queued or running Maven build of a generated project.
+ */
+@Getter
+public class BuildJob {
+
+    public enum Status {
+        QUEUED, RUNNING, SUCCEEDED, FAILED, TIMED_OUT, REJECTED;
+
+        public boolean isFinished() {
+            return this != QUEUED && this != RUNNING;
+        }
+    }
+
+    private final String id;
+    private final String projectPath;
+    private final BuildLog log;
+    private final Instant submittedAt = Instant.now();
+    private final CompletableFuture<BuildJob> completion = new CompletableFuture<>();
+
+    private volatile Status status = Status.QUEUED;
+    private volatile Integer exitCode;
+    private volatile Instant startedAt;
+    private volatile Instant finishedAt;
+    private volatile String fingerprint;
+    private volatile Path artifact;
+    private volatile boolean cacheHit;
+
+    public BuildJob(String id, String projectPath, int logCapacity) {
+        this.id = id;
+        this.projectPath = projectPath;
+        this.log = new BuildLog(logCapacity);
+    }
+
+    public void setFingerprint(String fingerprint) {
+        this.fingerprint = fingerprint;
+    }
+
+    /**
+     * Records the stored JAR this build produced, or reused when {@code cacheHit} is set.
+     */
+    public void markArtifact(Path artifact, boolean cacheHit) {
+        this.artifact = artifact;
+        this.cacheHit = cacheHit;
+    }
+
+    public void markRunning() {
+        this.startedAt = Instant.now();
+        this.status = Status.RUNNING;
+    }
+
+    public void markFinished(Status status, Integer exitCode) {
+        this.exitCode = exitCode;
+        this.finishedAt = Instant.now();
+        this.status = status;
+        completion.complete(this);
+    }
+
+    public boolean isFinished() {
+        return status.isFinished();
+    }
+}
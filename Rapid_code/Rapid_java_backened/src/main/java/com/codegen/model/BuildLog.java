@@ -0,0 +1,62 @@
+package com.codegen.model;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Fixed-size ring buffer of build output lines. Each line gets a monotonically increasing
+ * sequence number so readers can poll for lines they have not seen yet.
+ */
+public class BuildLog {
+
+    public record Line(long sequence, String text) {
+    }
+
+    private final int capacity;
+    private final Deque<Line> lines;
+    private long nextSequence = 1;
+
+    public BuildLog(int capacity) {
+        this.capacity = Math.max(1, capacity);
+        this.lines = new ArrayDeque<>(this.capacity);
+    }
+
+    public synchronized void append(String text) {
+        if (lines.size() == capacity) {
+            lines.removeFirst();
+        }
+        lines.addLast(new Line(nextSequence++, text));
+    }
+
+    /**
+     * Returns the retained lines with a sequence greater than {@code afterSequence}.
+     */
+    public synchronized List<Line> linesAfter(long afterSequence) {
+        List<Line> result = new ArrayList<>();
+        for (Line line : lines) {
+            if (line.sequence() > afterSequence) {
+                result.add(line);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the sequence number of the most recently appended line, or 0 if nothing was appended.
+     */
+    public synchronized long lastSequence() {
+        return nextSequence - 1;
+    }
+
+    public synchronized List<String> tail(int count) {
+        List<String> result = new ArrayList<>(Math.min(count, lines.size()));
+        int skip = Math.max(0, lines.size() - count);
+        for (Line line : lines) {
+            if (skip-- > 0) continue;
+            result.add(line.text());
+        }
+        return result;
+    }
+}
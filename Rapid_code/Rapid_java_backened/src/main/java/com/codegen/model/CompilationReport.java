@@ -0,0 +1,22 @@
+package com.codegen.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * Outcome of compiling the generated Java sources in-process.
+ */
+@Getter
+@AllArgsConstructor
+public class CompilationReport {
+
+    private final boolean success;
+    private final long durationMs;
+    private final int sourceCount;
+    private final List<Diagnostic> diagnostics;
+
+    public record Diagnostic(String kind, String file, long line, long column, String message) {
+    }
+}
@@ -6,8 +6,18 @@ import lombok.Setter;
 import lombok.NoArgsConstructor;
 import lombok.AllArgsConstructor;
 
+import java.time.LocalDateTime;
+
+/**
+ * One generated page per table: where it was generated, from which input and template set, and how
+ * long it took. {@code tableName} and {@code routePath} are unique; the hash and generation time are
+ * indexed so repeat requests resolve with a single lookup (see src/main/resources/db).
+ */
 @Entity
-@Table(name = "dynamic_page_creation")
+@Table(name = "dynamic_page_creation", indexes = {
+        @Index(name = "idx_dynamic_page_input_hash", columnList = "input_hash, template_version"),
+        @Index(name = "idx_dynamic_page_generated_at", columnList = "generated_at")
+})
 @Getter
 @Setter
 @NoArgsConstructor
@@ -30,4 +40,19 @@ public class DynamicPageCreation {
 
     @Column(name = "routePath", nullable = false, unique = true)
     private String routePath;
+
+    @Column(name = "input_hash", length = 64)
+    private String inputHash;
+
+    @Column(name = "artifact_path")
+    private String artifactPath;
+
+    @Column(name = "template_version", length = 64)
+    private String templateVersion;
+
+    @Column(name = "duration_ms")
+    private Long durationMs;
+
+    @Column(name = "generated_at")
+    private LocalDateTime generatedAt;
 }
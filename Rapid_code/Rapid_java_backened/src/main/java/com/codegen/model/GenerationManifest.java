@@ -0,0 +1,124 @@
+package com.codegen.model;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * The files one generation run wrote under its output directory, in the order they were written.
+ * <p>
+ * Generated sources are what gets packaged; archives (the React ZIP, packaged projects) are tracked
+ * separately so they can be downloaded without being packaged again. Paths are kept relative to the
+ * root and written to {@value #FILE_NAME} so a later packaging request does not need to rescan the tree.
+ */
+public class GenerationManifest {
+
+    public static final String FILE_NAME = ".codegen-manifest";
+
+    private static final String FILE_PREFIX = "file\t";
+    private static final String ARCHIVE_PREFIX = "archive\t";
+
+    private final Path root;
+    private final Set<Path> files = new LinkedHashSet<>();
+    private final Set<Path> archives = new LinkedHashSet<>();
+
+    public GenerationManifest(Path root) {
+        this.root = root.toAbsolutePath().normalize();
+    }
+
+    public Path getRoot() {
+        return root;
+    }
+
+    public synchronized void recordFile(Path file) {
+        files.add(relativize(file));
+    }
+
+    public synchronized void recordArchive(Path archive) {
+        archives.add(relativize(archive));
+    }
+
+    /**
+     * @return The generated files as absolute paths, in the order they were recorded.
+     */
+    public synchronized List<Path> getFiles() {
+        return files.stream().map(root::resolve).toList();
+    }
+
+    /**
+     * @return The recorded archives as absolute paths, in the order they were recorded.
+     */
+    public synchronized List<Path> getArchives() {
+        return archives.stream().map(root::resolve).toList();
+    }
+
+    /**
+     * @return The generated files under {@code dir}, as absolute paths.
+     */
+    public synchronized List<Path> getFilesUnder(Path dir) {
+        Path relativeDir = relativize(dir);
+        return files.stream()
+                .filter(file -> file.startsWith(relativeDir))
+                .map(root::resolve)
+                .toList();
+    }
+
+    /**
+     * Finds a recorded archive or file by its file name, archives first.
+     */
+    public synchronized Optional<Path> findByFileName(String fileName) {
+        List<Path> candidates = new ArrayList<>(archives);
+        candidates.addAll(files);
+        return candidates.stream()
+                .filter(path -> path.getFileName().toString().equals(fileName))
+                .findFirst()
+                .map(root::resolve);
+    }
+
+    public synchronized int size() {
+        return files.size();
+    }
+
+    public synchronized void write() throws IOException {
+        List<String> lines = new ArrayList<>(files.size() + archives.size());
+        files.forEach(file -> lines.add(FILE_PREFIX + toEntry(file)));
+        archives.forEach(archive -> lines.add(ARCHIVE_PREFIX + toEntry(archive)));
+        Files.write(root.resolve(FILE_NAME), lines);
+    }
+
+    /**
+     * Loads the manifest written to {@code root}, if there is one.
+     */
+    public static Optional<GenerationManifest> read(Path root) throws IOException {
+        GenerationManifest manifest = new GenerationManifest(root);
+        Path manifestFile = manifest.root.resolve(FILE_NAME);
+        if (!Files.isRegularFile(manifestFile)) {
+            return Optional.empty();
+        }
+        for (String line : Files.readAllLines(manifestFile)) {
+            if (line.startsWith(FILE_PREFIX)) {
+                manifest.files.add(Path.of(line.substring(FILE_PREFIX.length())));
+            } else if (line.startsWith(ARCHIVE_PREFIX)) {
+                manifest.archives.add(Path.of(line.substring(ARCHIVE_PREFIX.length())));
+            }
+        }
+        return Optional.of(manifest);
+    }
+
+    private Path relativize(Path path) {
+        Path absolute = path.toAbsolutePath().normalize();
+        if (!absolute.startsWith(root)) {
+            throw new IllegalArgumentException("Path " + path + " is outside the generation root " + root);
+        }
+        return root.relativize(absolute);
+    }
+
+    private static String toEntry(Path relative) {
+        return relative.toString().replace('\\', '/');
+    }
+}
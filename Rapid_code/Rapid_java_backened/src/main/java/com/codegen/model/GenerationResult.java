@@ -0,0 +1,22 @@
+package com.codegen.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.util.List;
+
+/**
+ * What a generation run produced: a summary message, the generated files, where they were written and,
+ * when requested, the in-process compile check of the generated sources.
+ */
+@Getter
+@AllArgsConstructor
+public class GenerationResult {
+
+    private final String message;
+    private final List<String> generatedFiles;
+    private final CompilationReport compilationReport;
+    private final String outputPath;
+    // The packaged React app, when one was built
+    private final String artifactPath;
+}
@@ -15,6 +15,10 @@ import java.util.List;
 @Setter
 public class GeneratorInput {
 
+	public static final String PROFILE_DEFAULT = "default";
+	public static final String PROFILE_PRODUCTION = "production";
+	public static final int DEFAULT_JAVA_RELEASE = 17;
+
 	@NotEmpty(message = "Class name must not be empty")
 	private String className;
 
@@ -24,6 +28,32 @@ public class GeneratorInput {
 
 	private String masterTable; // New field for master table
 	private String relationshipType; // New field for relationship type
+	private String performanceProfile; // "default" (H2, dev settings) or "production" (tuned MySQL settings)
+	private Boolean metricsEnabled; // Adds Actuator/Micrometer instrumentation to the generated app
+	private Boolean benchmarksEnabled; // Emits a JMH/load-driver "benchmarks" module next to the generated app
+	private Boolean validateCompilation; // Compiles the generated Java sources in-process and reports diagnostics
+	private String routePath; // Host app route the generated React page is registered under
+	private Integer javaVersion; // Java release the generated project targets; 17 when unset, 21+ enables virtual threads
+
+	public boolean isProductionProfile() {
+		return PROFILE_PRODUCTION.equalsIgnoreCase(performanceProfile);
+	}
+
+	public int getJavaRelease() {
+		return javaVersion != null ? javaVersion : DEFAULT_JAVA_RELEASE;
+	}
+
+	public boolean isMetricsEnabled() {
+		return metricsEnabled != null && metricsEnabled;
+	}
+
+	public boolean isBenchmarksEnabled() {
+		return benchmarksEnabled != null && benchmarksEnabled;
+	}
+
+	public boolean isValidateCompilation() {
+		return validateCompilation != null && validateCompilation;
+	}
 
 	@Getter
 	@Setter
@@ -50,6 +80,20 @@ public class GeneratorInput {
 		@JsonProperty("optionValues")
 		private List<String> optionValues; // Field for option values (e.g., ["me", "you", "us"])
 
+		@JsonProperty("length")
+		private Integer length; // Column length of String fields; VARCHAR(255) when unset
+
+		@JsonProperty("precision")
+		private Integer precision; // Total digits of BigDecimal fields; DECIMAL(19,2) when unset
+
+		@JsonProperty("scale")
+		private Integer scale; // Fraction digits of BigDecimal fields
+
+		public Field(String name, String type, Boolean primary, String uiType, Integer numOptions,
+					 List<String> optionValues) {
+			this(name, type, primary, uiType, numOptions, optionValues, null, null, null);
+		}
+
 		public boolean isPrimary() {
 			return primary != null && primary;
 		}
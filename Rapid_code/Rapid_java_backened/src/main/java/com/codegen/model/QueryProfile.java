@@ -0,0 +1,80 @@
+package com.codegen.model;
+
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The JDBC statements one request executed, totalled per call site (the generator method that issued
+ * them, e.g. {@code DynamicPageService.createOrUpdateRolePermission}) and per statement shape.
+ * <p>
+ * A shape executed repeatedly from the same site is an N+1 candidate: the same query run once per row
+ * instead of once per batch. Only the request's own thread records, so no locking is needed.
+ */
+public class QueryProfile {
+
+    public record SiteStats(String site, int statements, long timeMs) {
+    }
+
+    public record NPlusOneCandidate(String site, String sql, int executions) {
+    }
+
+    private final Map<String, long[]> sites = new LinkedHashMap<>();
+    private final Map<ShapeKey, int[]> shapes = new LinkedHashMap<>();
+    private int statementCount;
+    private long totalTimeMs;
+
+    private record ShapeKey(String site, String sql) {
+    }
+
+    public void record(String site, String sql, int statements, long elapsedMs) {
+        statementCount += statements;
+        totalTimeMs += elapsedMs;
+        long[] siteTotals = sites.computeIfAbsent(site, key -> new long[2]);
+        siteTotals[0] += statements;
+        siteTotals[1] += elapsedMs;
+        shapes.computeIfAbsent(new ShapeKey(site, normalize(sql)), key -> new int[1])[0]++;
+    }
+
+    public int getStatementCount() {
+        return statementCount;
+    }
+
+    public long getTotalTimeMs() {
+        return totalTimeMs;
+    }
+
+    /**
+     * @return Per-site totals, most statements first.
+     */
+    public List<SiteStats> getSites() {
+        return sites.entrySet().stream()
+                .map(entry -> new SiteStats(entry.getKey(), (int) entry.getValue()[0], entry.getValue()[1]))
+                .sorted(Comparator.comparingInt(SiteStats::statements).reversed())
+                .toList();
+    }
+
+    /**
+     * @param threshold How many executions of one shape from one site count as repeated.
+     * @return The shapes executed at least {@code threshold} times, most executions first.
+     */
+    public List<NPlusOneCandidate> getNPlusOneCandidates(int threshold) {
+        return shapes.entrySet().stream()
+                .filter(entry -> entry.getValue()[0] >= threshold)
+                .map(entry -> new NPlusOneCandidate(entry.getKey().site(), entry.getKey().sql(), entry.getValue()[0]))
+                .sorted(Comparator.comparingInt(NPlusOneCandidate::executions).reversed())
+                .toList();
+    }
+
+    /**
+     * Collapses whitespace and replaces inlined literals with {@code ?}, so statements differing only
+     * in their values share a shape.
+     */
+    static String normalize(String sql) {
+        return sql.replaceAll("'(?:[^']|'')*'", "?")
+                .replaceAll("\\b\\d+(?:\\.\\d+)?\\b", "?")
+                .replaceAll("\\s+", " ")
+                .trim();
+    }
+}
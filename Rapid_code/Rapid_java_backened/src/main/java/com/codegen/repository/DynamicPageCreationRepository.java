@@ -0,0 +1,16 @@
+package com.codegen.repository;
+
+import com.codegen.model.DynamicPageCreation;
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import java.util.Optional;
+
+public interface DynamicPageCreationRepository extends JpaRepository<DynamicPageCreation, Integer> {
+    Optional<DynamicPageCreation> findByTableName(String tableName);
+
+    Optional<DynamicPageCreation> findByRoutePath(String routePath);
+
+    Optional<DynamicPageCreation> findFirstByInputHashAndTemplateVersion(String inputHash, String templateVersion);
+
+    Optional<DynamicPageCreation> findFirstByOrderByGeneratedAtDesc();
+}
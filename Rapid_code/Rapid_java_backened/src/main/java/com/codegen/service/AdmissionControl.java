@@ -0,0 +1,183 @@
+package com.codegen.service;
+
+import com.codegen.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Limits how many requests of each operation type run at once.
+ * <p>
+ * Each {@link Operation} has a number of permits and a bounded wait queue, configured under
+ * {@code codegen.admission.<operation>.*}. A request that finds the queue full, or waits longer than
+ * {@code max-wait-ms} for a permit, is rejected straight away with a {@link TooManyRequestsException}
+ * instead of piling more load onto the database pool and disk. Active, queued and rejected counts are
+ * published as {@code codegen.admission.*} meters tagged with the operation.
+ */
+@Slf4j
+@Component
+public class AdmissionControl {
+
+    public enum Operation {
+        // Generations share the output directory, latest manifest and host components directory
+        GENERATE(1, 8, 30_000, 10),
+        BUILD(4, 16, 1_000, 10),
+        DOWNLOAD(8, 32, 5_000, 1);
+
+        private final int defaultMaxConcurrent;
+        private final int defaultQueueCapacity;
+        private final long defaultMaxWaitMs;
+        private final long defaultRetryAfterSeconds;
+
+        Operation(int defaultMaxConcurrent, int defaultQueueCapacity, long defaultMaxWaitMs,
+                  long defaultRetryAfterSeconds) {
+            this.defaultMaxConcurrent = defaultMaxConcurrent;
+            this.defaultQueueCapacity = defaultQueueCapacity;
+            this.defaultMaxWaitMs = defaultMaxWaitMs;
+            this.defaultRetryAfterSeconds = defaultRetryAfterSeconds;
+        }
+
+        String key() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /**
+     * The admitted work; may throw the checked exception of the endpoint it runs.
+     */
+    @FunctionalInterface
+    public interface Action<T, E extends Exception> {
+        T run() throws E;
+    }
+
+    private final Map<Operation, Gate> gates = new EnumMap<>(Operation.class);
+
+    public AdmissionControl(Environment environment, MeterRegistry meterRegistry) {
+        for (Operation operation : Operation.values()) {
+            String prefix = "codegen.admission." + operation.key() + ".";
+            Gate gate = new Gate(operation,
+                    environment.getProperty(prefix + "max-concurrent", Integer.class, operation.defaultMaxConcurrent),
+                    environment.getProperty(prefix + "queue-capacity", Integer.class, operation.defaultQueueCapacity),
+                    environment.getProperty(prefix + "max-wait-ms", Long.class, operation.defaultMaxWaitMs),
+                    environment.getProperty(prefix + "retry-after-seconds", Long.class, operation.defaultRetryAfterSeconds),
+                    meterRegistry);
+            gates.put(operation, gate);
+            log.info("Admission control for {}: {} concurrent, {} queued, {} ms max wait",
+                    operation.key(), gate.maxConcurrent, gate.queueCapacity, gate.maxWaitMs);
+        }
+    }
+
+    /**
+     * Runs the action once a permit for the operation is free.
+     *
+     * @throws TooManyRequestsException If the wait queue is full or no permit frees up in time.
+     */
+    public <T, E extends Exception> T run(Operation operation, Action<T, E> action) throws E {
+        Gate gate = gates.get(operation);
+        gate.acquire();
+        try {
+            return action.run();
+        } finally {
+            gate.permits.release();
+        }
+    }
+
+    public int getActiveCount(Operation operation) {
+        Gate gate = gates.get(operation);
+        return gate.maxConcurrent - gate.permits.availablePermits();
+    }
+
+    public int getQueuedCount(Operation operation) {
+        return gates.get(operation).queued.get();
+    }
+
+    private static final class Gate {
+
+        private final Operation operation;
+        private final int maxConcurrent;
+        private final int queueCapacity;
+        private final long maxWaitMs;
+        private final long retryAfterSeconds;
+        private final Semaphore permits;
+        private final AtomicInteger queued = new AtomicInteger();
+        private final Counter rejectedQueueFull;
+        private final Counter rejectedTimeout;
+        private final Timer waitTimer;
+
+        Gate(Operation operation, int maxConcurrent, int queueCapacity, long maxWaitMs, long retryAfterSeconds,
+             MeterRegistry meterRegistry) {
+            this.operation = operation;
+            this.maxConcurrent = maxConcurrent;
+            this.queueCapacity = queueCapacity;
+            this.maxWaitMs = maxWaitMs;
+            this.retryAfterSeconds = retryAfterSeconds;
+            // Fair, so queued requests are admitted in arrival order
+            this.permits = new Semaphore(maxConcurrent, true);
+
+            String tag = operation.key();
+            Gauge.builder("codegen.admission.active", this, gate -> gate.maxConcurrent - gate.permits.availablePermits())
+                    .description("Requests currently running")
+                    .tag("operation", tag)
+                    .register(meterRegistry);
+            Gauge.builder("codegen.admission.queued", queued, AtomicInteger::get)
+                    .description("Requests waiting for a permit")
+                    .tag("operation", tag)
+                    .register(meterRegistry);
+            rejectedQueueFull = Counter.builder("codegen.admission.rejected")
+                    .description("Requests rejected with 429")
+                    .tag("operation", tag)
+                    .tag("reason", "queue_full")
+                    .register(meterRegistry);
+            rejectedTimeout = Counter.builder("codegen.admission.rejected")
+                    .description("Requests rejected with 429")
+                    .tag("operation", tag)
+                    .tag("reason", "timeout")
+                    .register(meterRegistry);
+            waitTimer = Timer.builder("codegen.admission.wait")
+                    .description("Time spent waiting for a permit")
+                    .tag("operation", tag)
+                    .register(meterRegistry);
+        }
+
+        void acquire() {
+            if (permits.tryAcquire()) {
+                return;
+            }
+            if (queued.incrementAndGet() > queueCapacity) {
+                queued.decrementAndGet();
+                rejectedQueueFull.increment();
+                log.warn("Rejecting {} request: {} running and {} queued", operation.key(), maxConcurrent, queueCapacity);
+                throw new TooManyRequestsException("Too many " + operation.key() + " requests, try again later",
+                        retryAfterSeconds);
+            }
+            long startTime = System.nanoTime();
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(maxWaitMs, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                acquired = false;
+            } finally {
+                queued.decrementAndGet();
+                waitTimer.record(System.nanoTime() - startTime, TimeUnit.NANOSECONDS);
+            }
+            if (!acquired) {
+                rejectedTimeout.increment();
+                log.warn("Rejecting {} request after waiting {} ms for a permit", operation.key(), maxWaitMs);
+                throw new TooManyRequestsException("Timed out waiting to run " + operation.key() + " request, try again later",
+                        retryAfterSeconds);
+            }
+        }
+    }
+}
@@ -0,0 +1,354 @@
+package com.codegen.service;
+
+import com.codegen.exception.ServiceException;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.security.DigestInputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+/**
+ * Content-addressed store of generated artifacts: built JARs, keyed by the fingerprint of the sources
+ * they were built from, and packaged archives, keyed by their content hash.
+ * <p>
+ * Each artifact lives in {@code <codegen.artifacts.path>/<fingerprint>/<file name>}. The store is bounded
+ * by {@code codegen.artifacts.max-size-mb}; when a new artifact pushes it over, the least recently used
+ * artifacts are evicted. A background sweep also evicts artifacts unused for
+ * {@code codegen.artifacts.max-age-hours}. Artifacts leased by an in-progress download are never evicted;
+ * they are reconsidered on the next sweep. Existing entries are re-indexed on startup, oldest first.
+ */
+@Slf4j
+@Service
+public class ArtifactStore {
+
+    private static final class Entry {
+
+        private final Path file;
+        private final long size;
+        private long lastAccess;
+        private int leases;
+
+        Entry(Path file, long size, long lastAccess) {
+            this.file = file;
+            this.size = size;
+            this.lastAccess = lastAccess;
+        }
+    }
+
+    /**
+     * Keeps an artifact from being evicted until closed.
+     */
+    public final class Lease implements AutoCloseable {
+
+        private final Entry entry;
+        private boolean released;
+
+        private Lease(Entry entry) {
+            this.entry = entry;
+        }
+
+        public Path file() {
+            return entry.file;
+        }
+
+        @Override
+        public void close() {
+            synchronized (ArtifactStore.this) {
+                if (!released) {
+                    released = true;
+                    entry.leases--;
+                    activeLeases--;
+                }
+            }
+        }
+    }
+
+    @Value("${codegen.artifacts.path:build-cache/artifacts}")
+    private String storePath;
+
+    @Value("${codegen.artifacts.max-size-mb:512}")
+    private long maxSizeMb;
+
+    // 0 keeps artifacts until the size limit evicts them
+    @Value("${codegen.artifacts.max-age-hours:168}")
+    private long maxAgeHours;
+
+    private Path root;
+    private long totalBytes;
+    private int activeLeases;
+
+    // Access-ordered so iteration starts at the least recently used artifact
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, String> latestByFileName = new LinkedHashMap<>();
+
+    private final Counter evictedForSize;
+    private final Counter evictedForAge;
+
+    public ArtifactStore(MeterRegistry meterRegistry) {
+        Gauge.builder("codegen.artifacts.size", this, store -> store.getTotalBytes())
+                .baseUnit("bytes")
+                .description("Bytes held by the artifact store")
+                .register(meterRegistry);
+        Gauge.builder("codegen.artifacts.count", this, store -> store.getCount())
+                .description("Artifacts held by the artifact store")
+                .register(meterRegistry);
+        Gauge.builder("codegen.artifacts.leases", this, store -> store.getActiveLeases())
+                .description("Artifacts currently being downloaded")
+                .register(meterRegistry);
+        evictedForSize = evictionCounter(meterRegistry, "size");
+        evictedForAge = evictionCounter(meterRegistry, "age");
+    }
+
+    @PostConstruct
+    synchronized void init() {
+        root = Paths.get(storePath).toAbsolutePath().normalize();
+        try {
+            Files.createDirectories(root);
+            try (Stream<Path> dirs = Files.list(root)) {
+                dirs.filter(Files::isDirectory)
+                        .map(this::singleFile)
+                        .flatMap(Optional::stream)
+                        .sorted(Comparator.comparingLong(this::lastModified))
+                        .forEach(file -> index(file.getParent().getFileName().toString(), file, lastModified(file)));
+            }
+        } catch (IOException e) {
+            throw new ServiceException("Failed to open artifact store at: " + root, e);
+        }
+        log.info("Artifact store at {} holds {} artifacts ({} bytes, limit {} MB, max age {} h)",
+                root, entries.size(), totalBytes, maxSizeMb, maxAgeHours);
+    }
+
+    /**
+     * Returns the artifact built from the given fingerprint, marking it as recently used.
+     */
+    public synchronized Optional<Path> find(String fingerprint) {
+        return findEntry(fingerprint).map(entry -> entry.file);
+    }
+
+    /**
+     * Returns the most recently stored artifact with the given file name.
+     */
+    public synchronized Optional<Path> findByFileName(String fileName) {
+        String fingerprint = latestByFileName.get(fileName);
+        return fingerprint == null ? Optional.empty() : find(fingerprint);
+    }
+
+    /**
+     * Leases the most recently stored artifact with the given file name; it is not evicted until the
+     * lease is closed.
+     */
+    public synchronized Optional<Lease> lease(String fileName) {
+        String fingerprint = latestByFileName.get(fileName);
+        return Optional.ofNullable(fingerprint)
+                .flatMap(this::findEntry)
+                .map(entry -> {
+                    entry.leases++;
+                    activeLeases++;
+                    return new Lease(entry);
+                });
+    }
+
+    /**
+     * Copies an artifact into the store under its fingerprint and evicts least recently used artifacts
+     * until the store is back under its size limit.
+     *
+     * @return The stored copy.
+     */
+    public synchronized Path put(String fingerprint, Path file) {
+        Optional<Path> existing = find(fingerprint);
+        if (existing.isPresent()) {
+            latestByFileName.put(existing.get().getFileName().toString(), fingerprint);
+            return existing.get();
+        }
+        Path dir = root.resolve(fingerprint);
+        Path target = dir.resolve(file.getFileName().toString());
+        try {
+            Files.createDirectories(dir);
+            Path temp = Files.createTempFile(dir, "artifact", ".tmp");
+            Files.copy(file, temp, StandardCopyOption.REPLACE_EXISTING);
+            Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new ServiceException("Failed to store artifact: " + file, e);
+        }
+        index(fingerprint, target, System.currentTimeMillis());
+        evictOverSize(fingerprint);
+        log.info("Stored artifact {} under {} ({} artifacts, {} bytes)", target.getFileName(), fingerprint,
+                entries.size(), totalBytes);
+        return target;
+    }
+
+    /**
+     * Copies a packaged archive into the store under the SHA-256 of its content.
+     *
+     * @return The stored copy.
+     */
+    public Path put(Path file) {
+        String fingerprint;
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            try (InputStream in = new DigestInputStream(Files.newInputStream(file), digest)) {
+                in.transferTo(OutputStream.nullOutputStream());
+            }
+            fingerprint = HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new ServiceException("Failed to hash artifact: " + file, e);
+        }
+        return put(fingerprint, file);
+    }
+
+    /**
+     * Evicts artifacts unused for longer than the maximum age, then least recently used ones until
+     * the store is under its size limit, and drops entries whose files were removed externally.
+     */
+    @Scheduled(fixedDelayString = "${codegen.artifacts.eviction-interval-ms:300000}",
+            initialDelayString = "${codegen.artifacts.eviction-interval-ms:300000}")
+    public synchronized void sweep() {
+        long cutoff = maxAgeHours > 0 ? System.currentTimeMillis() - Duration.ofHours(maxAgeHours).toMillis() : Long.MIN_VALUE;
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (it.hasNext()) {
+            Map.Entry<String, Entry> eldest = it.next();
+            Entry entry = eldest.getValue();
+            if (!Files.isRegularFile(entry.file)) {
+                it.remove();
+                unindex(eldest.getKey(), entry);
+            } else if (entry.lastAccess < cutoff && entry.leases == 0) {
+                it.remove();
+                evict(eldest.getKey(), entry, evictedForAge);
+            }
+        }
+        evictOverSize(null);
+    }
+
+    public synchronized long getTotalBytes() {
+        return totalBytes;
+    }
+
+    public synchronized int getCount() {
+        return entries.size();
+    }
+
+    public synchronized int getActiveLeases() {
+        return activeLeases;
+    }
+
+    private Optional<Entry> findEntry(String fingerprint) {
+        Entry entry = entries.get(fingerprint);
+        if (entry == null) {
+            return Optional.empty();
+        }
+        if (!Files.isRegularFile(entry.file)) {
+            entries.remove(fingerprint);
+            unindex(fingerprint, entry);
+            return Optional.empty();
+        }
+        entry.lastAccess = System.currentTimeMillis();
+        return Optional.of(entry);
+    }
+
+    private void index(String fingerprint, Path file, long lastAccess) {
+        long size = size(file);
+        Entry previous = entries.put(fingerprint, new Entry(file, size, lastAccess));
+        if (previous != null) {
+            totalBytes -= previous.size;
+        }
+        totalBytes += size;
+        latestByFileName.put(file.getFileName().toString(), fingerprint);
+    }
+
+    private void evictOverSize(String keep) {
+        long limit = maxSizeMb * 1024 * 1024;
+        Iterator<Map.Entry<String, Entry>> it = entries.entrySet().iterator();
+        while (totalBytes > limit && it.hasNext()) {
+            Map.Entry<String, Entry> eldest = it.next();
+            if (eldest.getKey().equals(keep) || eldest.getValue().leases > 0) {
+                continue;
+            }
+            it.remove();
+            evict(eldest.getKey(), eldest.getValue(), evictedForSize);
+        }
+        if (totalBytes > limit) {
+            log.warn("Artifact store is over its {} MB limit ({} bytes); leased artifacts are evicted on a later sweep",
+                    maxSizeMb, totalBytes);
+        }
+    }
+
+    private void evict(String fingerprint, Entry entry, Counter reason) {
+        unindex(fingerprint, entry);
+        deleteQuietly(entry.file.getParent());
+        reason.increment();
+        log.info("Evicted artifact {} ({} bytes)", fingerprint, entry.size);
+    }
+
+    private void unindex(String fingerprint, Entry entry) {
+        totalBytes -= entry.size;
+        latestByFileName.values().remove(fingerprint);
+    }
+
+    private Optional<Path> singleFile(Path dir) {
+        try (Stream<Path> files = Files.list(dir)) {
+            List<Path> artifacts = files
+                    .filter(Files::isRegularFile)
+                    .filter(file -> !file.getFileName().toString().endsWith(".tmp"))
+                    .toList();
+            return artifacts.size() == 1 ? Optional.of(artifacts.get(0)) : Optional.empty();
+        } catch (IOException e) {
+            log.warn("Skipping unreadable artifact directory: {}", dir);
+            return Optional.empty();
+        }
+    }
+
+    private long size(Path file) {
+        try {
+            return Files.size(file);
+        } catch (IOException e) {
+            log.warn("Failed to read artifact size: {}", file);
+            return 0L;
+        }
+    }
+
+    private long lastModified(Path file) {
+        try {
+            return Files.getLastModifiedTime(file).toMillis();
+        } catch (IOException e) {
+            return 0L;
+        }
+    }
+
+    private void deleteQuietly(Path dir) {
+        try (Stream<Path> files = Files.walk(dir)) {
+            files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            log.warn("Failed to delete evicted artifact: {}", dir, e);
+        }
+    }
+
+    private static Counter evictionCounter(MeterRegistry meterRegistry, String reason) {
+        return Counter.builder("codegen.artifacts.evicted")
+                .description("Artifacts evicted from the artifact store")
+                .tag("reason", reason)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,603 @@
+package com.codegen.service;
+
+import com.codegen.exception.ServiceException;
+import com.codegen.exception.TooManyRequestsException;
+import com.codegen.model.BuildJob;
+import com.codegen.model.BuildLog;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * Runs Maven builds of generated projects on a bounded worker pool.
+ * <p>
+ * At most {@code build.max-parallel} builds run at once and at most {@code build.queue-capacity}
+ * wait behind them; further submissions are rejected. Each build's output is kept in a ring buffer
+ * that clients can stream over SSE, and builds exceeding {@code build.timeout-seconds} are killed
+ * together with their child processes.
+ * <p>
+ * Builds share one local repository. Once a build has succeeded against it, later builds run
+ * offline so Maven does not re-check remote repositories. A build that is missing dependencies
+ * offline is retried online once. When {@code build.mvnd.path} points to a Maven Daemon, it is used
+ * instead of {@code mvn} so the build JVM stays warm between requests.
+ * <p>
+ * Builds are keyed by a SHA-256 fingerprint of the project's {@code src} tree and {@code pom.xml}.
+ * Built JARs are kept in the {@link ArtifactStore}; submitting sources that were already built
+ * completes immediately with the stored JAR instead of running Maven again. Maven runs on a snapshot
+ * of those files under {@code build.work-path}, so a generation rewriting the project mid-build cannot
+ * leave a JAR stored under a fingerprint of other sources; the JAR is copied back into the project's
+ * {@code target} directory.
+ * <p>
+ * Each build runs on the JDK matching the project's {@code java.version}: the one configured for that
+ * release in {@code build.java-homes}, otherwise the generator's own JDK when it is at least as new.
+ * A project targeting a newer release than any available JDK fails without starting Maven.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class BuildService {
+
+    private static final boolean WINDOWS = System.getProperty("os.name", "")
+            .toLowerCase(Locale.ROOT).startsWith("windows");
+    private static final int MAX_TRACKED_BUILDS = 100;
+    private static final long LOG_POLL_INTERVAL_MS = 500;
+    private static final long QUEUE_FULL_RETRY_AFTER_SECONDS = 30;
+    private static final String OFFLINE_RESOLUTION_FAILURE = "in offline mode";
+    private static final String SOURCE_DIR = "src";
+    private static final String POM_FILE = "pom.xml";
+    private static final String TARGET_DIR = "target";
+    // Copied into each build snapshot: what the build reads, plus the Maven wrapper if there is one
+    private static final List<String> SNAPSHOT_ENTRIES = List.of(POM_FILE, SOURCE_DIR, "mvnw", "mvnw.cmd", ".mvn");
+    private static final Pattern JAVA_VERSION = Pattern.compile("<java\\.version>\\s*(\\d+)\\s*</java\\.version>");
+    private static final int HOST_JAVA_RELEASE = Runtime.version().feature();
+
+    private final GenerationMetrics generationMetrics;
+    private final ArtifactStore artifactStore;
+
+    @Value("${maven.executable.path:}")
+    private String mavenExecutablePath;
+
+    @Value("${build.max-parallel:2}")
+    private int maxParallel;
+
+    @Value("${build.queue-capacity:10}")
+    private int queueCapacity;
+
+    @Value("${build.timeout-seconds:300}")
+    private long timeoutSeconds;
+
+    @Value("${build.log-buffer-lines:500}")
+    private int logBufferLines;
+
+    @Value("${build.mvnd.path:}")
+    private String mvndPath;
+
+    @Value("${build.local-repository:}")
+    private String localRepository;
+
+    @Value("${build.work-path:build-cache/work}")
+    private String workPath;
+
+    @Value("${build.offline-when-warm:true}")
+    private boolean offlineWhenWarm;
+
+    @Value("${build.threads:1C}")
+    private String buildThreads;
+
+    @Value("${build.skip-tests:true}")
+    private boolean skipTests;
+
+    @Value("${build.maven-opts:-XX:TieredStopAtLevel=1 -XX:+UseParallelGC}")
+    private String mavenOpts;
+
+    // Comma-separated release=JAVA_HOME pairs, e.g. 21=/opt/jdk-21
+    @Value("${build.java-homes:}")
+    private String javaHomes;
+
+    private final Map<Integer, String> javaHomesByRelease = new ConcurrentHashMap<>();
+
+    private final AtomicBoolean repositoryWarm = new AtomicBoolean();
+
+    private ThreadPoolExecutor buildExecutor;
+    private ScheduledExecutorService logStreamer;
+
+    private final Map<String, BuildJob> builds = Collections.synchronizedMap(new LinkedHashMap<>() {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<String, BuildJob> eldest) {
+            return size() > MAX_TRACKED_BUILDS && eldest.getValue().isFinished();
+        }
+    });
+    private final Map<String, Process> runningProcesses = new ConcurrentHashMap<>();
+
+    @PostConstruct
+    void start() {
+        javaHomesByRelease.putAll(parseJavaHomes(javaHomes));
+        AtomicInteger threadCount = new AtomicInteger();
+        buildExecutor = new ThreadPoolExecutor(maxParallel, maxParallel, 0L, TimeUnit.MILLISECONDS,
+                new ArrayBlockingQueue<>(queueCapacity),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "maven-build-" + threadCount.incrementAndGet());
+                    thread.setDaemon(true);
+                    return thread;
+                },
+                new ThreadPoolExecutor.AbortPolicy());
+        logStreamer = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "build-log-streamer");
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Build service started: maxParallel={}, queueCapacity={}, timeout={}s, localRepository={}, mvnd={}, javaHomes={}",
+                maxParallel, queueCapacity, timeoutSeconds,
+                localRepository == null || localRepository.isBlank() ? "<maven default>" : localRepository,
+                isMvndAvailable() ? mvndPath : "<disabled>", javaHomesByRelease);
+    }
+
+    @PreDestroy
+    void stop() {
+        buildExecutor.shutdownNow();
+        logStreamer.shutdownNow();
+        runningProcesses.values().forEach(this::kill);
+    }
+
+    /**
+     * Queues a {@code clean package} build of the project, or completes it right away when a JAR built
+     * from identical sources is already stored.
+     *
+     * @param projectPath The generated project directory containing pom.xml.
+     * @return The queued or completed build.
+     * @throws ServiceException         If the project does not exist.
+     * @throws TooManyRequestsException If the build queue is full.
+     */
+    public BuildJob submit(String projectPath) {
+        File projectDir = new File(projectPath);
+        if (!new File(projectDir, POM_FILE).isFile()) {
+            throw new ServiceException("No pom.xml found in project: " + projectPath);
+        }
+
+        BuildJob job = new BuildJob(UUID.randomUUID().toString(), projectPath, logBufferLines);
+        job.setFingerprint(fingerprint(projectDir.toPath()));
+        builds.put(job.getId(), job);
+        Optional<Path> cached = artifactStore.find(job.getFingerprint());
+        if (cached.isPresent()) {
+            job.markRunning();
+            completeFromCache(job, cached.get());
+            return job;
+        }
+
+        try {
+            buildExecutor.execute(() -> run(job));
+        } catch (RejectedExecutionException e) {
+            builds.remove(job.getId());
+            job.markFinished(BuildJob.Status.REJECTED, null);
+            log.warn("Build queue is full ({} running, {} queued), rejecting build of {}",
+                    buildExecutor.getActiveCount(), buildExecutor.getQueue().size(), projectPath);
+            throw new TooManyRequestsException("Build queue is full, try again later", QUEUE_FULL_RETRY_AFTER_SECONDS);
+        }
+        log.info("Queued build {} for project: {}", job.getId(), projectPath);
+        return job;
+    }
+
+    public Optional<BuildJob> find(String buildId) {
+        return Optional.ofNullable(builds.get(buildId));
+    }
+
+    public int getQueuedCount() {
+        return buildExecutor.getQueue().size();
+    }
+
+    public int getRunningCount() {
+        return buildExecutor.getActiveCount();
+    }
+
+    /**
+     * Streams a build's log as SSE "log" events, replaying the buffered lines first, and finishes
+     * with a "status" event once the build is done.
+     */
+    public SseEmitter streamLog(String buildId) {
+        BuildJob job = find(buildId).orElseThrow(() -> new ServiceException("Unknown build: " + buildId));
+        SseEmitter emitter = new SseEmitter(TimeUnit.SECONDS.toMillis(timeoutSeconds) + 60_000);
+        AtomicLong lastSequence = new AtomicLong();
+        AtomicReference<ScheduledFuture<?>> task = new AtomicReference<>();
+
+        task.set(logStreamer.scheduleWithFixedDelay(() -> {
+            try {
+                boolean finished = job.isFinished();
+                for (BuildLog.Line line : job.getLog().linesAfter(lastSequence.get())) {
+                    emitter.send(SseEmitter.event()
+                            .id(Long.toString(line.sequence()))
+                            .name("log")
+                            .data(line.text()));
+                    lastSequence.set(line.sequence());
+                }
+                if (finished) {
+                    emitter.send(SseEmitter.event().name("status").data(job.getStatus().name()));
+                    emitter.complete();
+                    task.get().cancel(false);
+                }
+            } catch (IOException | IllegalStateException e) {
+                // Client went away; stop polling for it
+                task.get().cancel(false);
+            }
+        }, 0, LOG_POLL_INTERVAL_MS, TimeUnit.MILLISECONDS));
+
+        emitter.onCompletion(() -> cancel(task.get()));
+        emitter.onTimeout(() -> cancel(task.get()));
+        emitter.onError(e -> cancel(task.get()));
+        return emitter;
+    }
+
+    private void cancel(ScheduledFuture<?> task) {
+        if (task != null) {
+            task.cancel(false);
+        }
+    }
+
+    private void run(BuildJob job) {
+        job.markRunning();
+        Timer.Sample sample = generationMetrics.start();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(timeoutSeconds);
+        Path snapshot = null;
+        BuildResult result = new BuildResult(BuildJob.Status.FAILED, null);
+
+        try {
+            // The sources may have been regenerated while the build was queued; the snapshot pins them
+            snapshot = snapshot(Path.of(job.getProjectPath()));
+            File projectDir = snapshot.toFile();
+            job.setFingerprint(fingerprint(snapshot));
+            Optional<Path> cached = artifactStore.find(job.getFingerprint());
+            if (cached.isPresent()) {
+                completeFromCache(job, cached.get());
+                return;
+            }
+
+            int release = javaRelease(snapshot);
+            Optional<String> javaHome = javaHome(release);
+            if (javaHome.isEmpty() && release > HOST_JAVA_RELEASE) {
+                job.getLog().append("Project targets Java " + release + " but the generator runs on Java "
+                        + HOST_JAVA_RELEASE + "; configure build.java-homes=" + release + "=<JDK path>");
+                log.warn("Build {} needs Java {}, no JDK configured for it", job.getId(), release);
+                return;
+            }
+
+            boolean offline = offlineWhenWarm && repositoryWarm.get();
+            long logMark = job.getLog().lastSequence();
+            result = execute(job, projectDir, buildCommand(projectDir, offline), javaHome, deadline);
+
+            if (offline && result.status() == BuildJob.Status.FAILED && failedOfflineResolution(job, logMark)) {
+                job.getLog().append("Dependencies missing from the local repository, retrying online");
+                repositoryWarm.set(false);
+                result = execute(job, projectDir, buildCommand(projectDir, false), javaHome, deadline);
+            }
+            if (result.status() == BuildJob.Status.SUCCEEDED) {
+                repositoryWarm.set(true);
+                storeArtifact(job, snapshot);
+            }
+        } catch (IOException e) {
+            job.getLog().append("Failed to start Maven: " + e.getMessage());
+            log.error("Build {} could not start", job.getId(), e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (snapshot != null) {
+                deleteRecursively(snapshot);
+            }
+            generationMetrics.stop(sample, GenerationMetrics.STAGE_MAVEN_BUILD, null,
+                    result.status() == BuildJob.Status.SUCCEEDED || job.isCacheHit());
+            if (!job.isFinished()) {
+                job.markFinished(result.status(), result.exitCode());
+            }
+            log.info("Build {} finished with status {} (exit code {})", job.getId(), job.getStatus(), job.getExitCode());
+        }
+    }
+
+    /**
+     * Finishes a build with a stored JAR, copying it back into the project's target directory so the
+     * project looks the same as after a real build.
+     */
+    private void completeFromCache(BuildJob job, Path artifact) {
+        copyToProject(job, artifact);
+        job.getLog().append("Sources unchanged (" + job.getFingerprint() + "), reusing " + artifact.getFileName());
+        job.markArtifact(artifact, true);
+        job.markFinished(BuildJob.Status.SUCCEEDED, 0);
+        log.info("Build {} served from artifact cache: {}", job.getId(), artifact);
+    }
+
+    /**
+     * Stores the JAR built in the snapshot under the snapshot's fingerprint and copies it into the project.
+     */
+    private void storeArtifact(BuildJob job, Path snapshot) {
+        try (Stream<Path> files = Files.list(snapshot.resolve(TARGET_DIR))) {
+            Optional<Path> jar = files
+                    .filter(file -> file.getFileName().toString().endsWith(".jar"))
+                    .filter(file -> !file.getFileName().toString().endsWith("-plain.jar"))
+                    .max(Comparator.comparingLong(file -> file.toFile().length()));
+            if (jar.isPresent()) {
+                Path stored = artifactStore.put(job.getFingerprint(), jar.get());
+                copyToProject(job, stored);
+                job.markArtifact(stored, false);
+            } else {
+                log.warn("Build {} succeeded but produced no JAR in {}/target", job.getId(), snapshot);
+            }
+        } catch (IOException | ServiceException e) {
+            log.warn("Failed to store artifact of build {}", job.getId(), e);
+        }
+    }
+
+    /**
+     * Copies a built or cached JAR into the project's target directory so the project looks the same as
+     * after building it in place.
+     */
+    private void copyToProject(BuildJob job, Path artifact) {
+        Path target = Path.of(job.getProjectPath(), TARGET_DIR, artifact.getFileName().toString());
+        try {
+            Files.createDirectories(target.getParent());
+            Files.copy(artifact, target, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            log.warn("Failed to copy artifact into {}", target, e);
+        }
+    }
+
+    /**
+     * Copies the files a build reads into a fresh directory under {@code build.work-path}.
+     */
+    Path snapshot(Path projectDir) throws IOException {
+        Path workDir = Files.createDirectories(Path.of(workPath).toAbsolutePath());
+        Path snapshot = Files.createTempDirectory(workDir, "build-");
+        try {
+            for (String entry : SNAPSHOT_ENTRIES) {
+                Path source = projectDir.resolve(entry);
+                if (!Files.exists(source)) {
+                    continue;
+                }
+                List<Path> files;
+                try (Stream<Path> walk = Files.walk(source)) {
+                    files = walk.toList();
+                }
+                for (Path file : files) {
+                    Path copy = snapshot.resolve(projectDir.relativize(file).toString());
+                    if (Files.isDirectory(file)) {
+                        Files.createDirectories(copy);
+                    } else {
+                        Files.copy(file, copy, StandardCopyOption.COPY_ATTRIBUTES);
+                    }
+                }
+            }
+            return snapshot;
+        } catch (IOException | RuntimeException e) {
+            deleteRecursively(snapshot);
+            throw e;
+        }
+    }
+
+    private void deleteRecursively(Path dir) {
+        try (Stream<Path> walk = Files.walk(dir)) {
+            walk.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+        } catch (IOException e) {
+            log.warn("Failed to delete build snapshot {}", dir, e);
+        }
+    }
+
+    /**
+     * SHA-256 over the relative path and content of every file under {@code src}, plus {@code pom.xml},
+     * in a stable order.
+     */
+    String fingerprint(Path projectDir) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            List<Path> files = new ArrayList<>();
+            files.add(projectDir.resolve(POM_FILE));
+            Path sourceDir = projectDir.resolve(SOURCE_DIR);
+            if (Files.isDirectory(sourceDir)) {
+                try (Stream<Path> walk = Files.walk(sourceDir)) {
+                    walk.filter(Files::isRegularFile).sorted().forEach(files::add);
+                }
+            }
+            for (Path file : files) {
+                digest.update(projectDir.relativize(file).toString().replace('\\', '/').getBytes(StandardCharsets.UTF_8));
+                digest.update((byte) 0);
+                digest.update(Files.readAllBytes(file));
+                digest.update((byte) 0);
+            }
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new ServiceException("Failed to fingerprint project: " + projectDir, e);
+        }
+    }
+
+    private record BuildResult(BuildJob.Status status, Integer exitCode) {
+    }
+
+    /**
+     * The {@code java.version} declared in the project's pom.xml, or the generator's own release when
+     * the pom does not declare one.
+     */
+    int javaRelease(Path projectDir) {
+        try {
+            Matcher matcher = JAVA_VERSION.matcher(Files.readString(projectDir.resolve(POM_FILE)));
+            return matcher.find() ? Integer.parseInt(matcher.group(1)) : HOST_JAVA_RELEASE;
+        } catch (IOException e) {
+            throw new ServiceException("Failed to read pom.xml of project: " + projectDir, e);
+        }
+    }
+
+    /**
+     * The JDK configured for {@code release}; empty when none is, in which case Maven inherits the
+     * generator's environment.
+     */
+    Optional<String> javaHome(int release) {
+        return Optional.ofNullable(javaHomesByRelease.get(release));
+    }
+
+    static Map<Integer, String> parseJavaHomes(String javaHomes) {
+        Map<Integer, String> homes = new LinkedHashMap<>();
+        if (javaHomes == null || javaHomes.isBlank()) {
+            return homes;
+        }
+        for (String pair : javaHomes.split(",")) {
+            int separator = pair.indexOf('=');
+            if (separator <= 0 || separator == pair.length() - 1) {
+                throw new ServiceException("Invalid build.java-homes entry, expected <release>=<path>: " + pair.trim());
+            }
+            try {
+                homes.put(Integer.parseInt(pair.substring(0, separator).trim()), pair.substring(separator + 1).trim());
+            } catch (NumberFormatException e) {
+                throw new ServiceException("Invalid Java release in build.java-homes: " + pair.trim(), e);
+            }
+        }
+        return homes;
+    }
+
+    private BuildResult execute(BuildJob job, File projectDir, List<String> command, Optional<String> javaHome,
+                                long deadline) throws IOException, InterruptedException {
+        job.getLog().append("$ " + String.join(" ", command));
+        javaHome.ifPresent(home -> job.getLog().append("JAVA_HOME=" + home));
+        log.info("Build {} started: {}", job.getId(), command);
+
+        ProcessBuilder processBuilder = new ProcessBuilder(command);
+        processBuilder.directory(projectDir);
+        processBuilder.redirectErrorStream(true);
+        if (mavenOpts != null && !mavenOpts.isBlank()) {
+            processBuilder.environment().putIfAbsent("MAVEN_OPTS", mavenOpts);
+        }
+        javaHome.ifPresent(home -> processBuilder.environment().put("JAVA_HOME", home));
+        Process process = processBuilder.start();
+        runningProcesses.put(job.getId(), process);
+
+        try {
+            Thread pump = startLogPump(job, process);
+            if (process.waitFor(Math.max(0, deadline - System.nanoTime()), TimeUnit.NANOSECONDS)) {
+                pump.join(TimeUnit.SECONDS.toMillis(5));
+                int exitCode = process.exitValue();
+                return new BuildResult(exitCode == 0 ? BuildJob.Status.SUCCEEDED : BuildJob.Status.FAILED, exitCode);
+            }
+            job.getLog().append("Build exceeded " + timeoutSeconds + "s and was killed");
+            kill(process);
+            return new BuildResult(BuildJob.Status.TIMED_OUT, null);
+        } catch (InterruptedException e) {
+            kill(process);
+            throw e;
+        } finally {
+            runningProcesses.remove(job.getId());
+        }
+    }
+
+    private boolean failedOfflineResolution(BuildJob job, long logMark) {
+        return job.getLog().linesAfter(logMark).stream()
+                .anyMatch(line -> line.text().contains(OFFLINE_RESOLUTION_FAILURE));
+    }
+
+    private Thread startLogPump(BuildJob job, Process process) {
+        Thread pump = new Thread(() -> {
+            try (BufferedReader reader = new BufferedReader(
+                    new InputStreamReader(process.getInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    job.getLog().append(line);
+                }
+            } catch (IOException e) {
+                log.debug("Log stream of build {} closed: {}", job.getId(), e.getMessage());
+            }
+        }, "maven-build-log-" + job.getId());
+        pump.setDaemon(true);
+        pump.start();
+        return pump;
+    }
+
+    private void kill(Process process) {
+        process.descendants().forEach(ProcessHandle::destroyForcibly);
+        process.destroyForcibly();
+    }
+
+    /**
+     * Builds the {@code clean package} command line. Windows launchers are run through
+     * {@code cmd.exe /c}.
+     */
+    List<String> buildCommand(File projectDir, boolean offline) {
+        List<String> command = new ArrayList<>();
+        if (WINDOWS) {
+            command.add("cmd.exe");
+            command.add("/c");
+        }
+        command.add(resolveMavenExecutable(projectDir));
+        command.add("-B");
+        if (offline) {
+            command.add("-o");
+        }
+        if (buildThreads != null && !buildThreads.isBlank()) {
+            command.add("-T");
+            command.add(buildThreads);
+        }
+        if (localRepository != null && !localRepository.isBlank()) {
+            command.add("-Dmaven.repo.local=" + new File(localRepository).getAbsolutePath());
+        }
+        if (skipTests) {
+            command.add("-DskipTests");
+        }
+        command.add("clean");
+        command.add("package");
+        return command;
+    }
+
+    private boolean isMvndAvailable() {
+        return mvndPath != null && !mvndPath.isBlank() && new File(mvndPath).isFile();
+    }
+
+    /**
+     * Resolves the Maven launcher: the Maven Daemon when configured, then the project's own wrapper,
+     * then {@code maven.executable.path}, then {@code mvn} on the PATH.
+     */
+    private String resolveMavenExecutable(File projectDir) {
+        if (isMvndAvailable()) {
+            return mvndPath;
+        }
+        File wrapper = new File(projectDir, WINDOWS ? "mvnw.cmd" : "mvnw");
+        if (wrapper.isFile() && (WINDOWS || wrapper.canExecute())) {
+            return wrapper.getAbsolutePath();
+        }
+        if (mavenExecutablePath != null && !mavenExecutablePath.isBlank() && new File(mavenExecutablePath).isFile()) {
+            return mavenExecutablePath;
+        }
+        return WINDOWS ? "mvn.cmd" : "mvn";
+    }
+}
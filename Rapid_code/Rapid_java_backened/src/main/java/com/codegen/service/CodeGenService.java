@@ -1,9 +1,15 @@
 package com.codegen.service;
 
+import com.codegen.exception.RapidControllerException;
 import com.codegen.exception.ServiceException;
+import com.codegen.model.BuildJob;
+import com.codegen.model.CompilationReport;
+import com.codegen.model.GenerationManifest;
+import com.codegen.model.GenerationResult;
 import com.codegen.model.GeneratorInput;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -17,8 +23,6 @@ import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.util.*;
 import java.util.stream.Collectors;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
 
 /**
  * Service for generating a full Spring Boot application with associated React frontend.
@@ -28,40 +32,70 @@ import java.util.zip.ZipOutputStream;
 @RequiredArgsConstructor
 public class CodeGenService {
 
-	private static final String BASE_PATH = "generated-app";
 	private static final String JAVA_SRC_PATH = "src/main/java";
 	private static final String RESOURCES_PATH = "src/main/resources";
+	private static final String TEST_SRC_PATH = "src/test/java";
 	private static final String[] SUB_PACKAGES = {"controller", "service", "repository", "model"};
 	private static final String DEFAULT_PRIMARY_KEY = "id";
+	private static final int BATCH_FETCH_SIZE = 50;
 	private static final String ENTITY_TEMPLATE = "Entity.java.ftl";
 	private static final String REPOSITORY_TEMPLATE = "Repository.java.ftl";
 	private static final String SERVICE_TEMPLATE = "Service.java.ftl";
 	private static final String CONTROLLER_TEMPLATE = "Controller.java.ftl";
 	private static final String APPLICATION_TEMPLATE = "Application.java.ftl";
-	private static final String PROPERTIES_TEMPLATE = "application.properties.ftl";
-	private static final String POM_TEMPLATE = "pom.xml.ftl";
+	private static final String CHANGE_BROADCASTER_TEMPLATE = "ChangeBroadcaster.java.ftl";
+	private static final String PROPERTIES_TEMPLATE = "Application.properties.ftl";
+	private static final String POM_TEMPLATE = "Pom.xml.ftl";
+	private static final String SERVICE_TEST_TEMPLATE = "ServiceTest.java.ftl";
+	private static final Set<String> TESTED_RELATIONSHIPS = Set.of("OneToOne", "ManyToOne", "ManyToMany");
+	private static final String BENCHMARKS_PATH = "benchmarks";
+	private static final String BENCHMARK_POM_TEMPLATE = "BenchmarkPom.xml.ftl";
+	private static final String BENCHMARK_SAMPLES_TEMPLATE = "BenchmarkSamples.java.ftl";
+	private static final String BENCHMARK_SERIALIZATION_TEMPLATE = "BenchmarkSerialization.java.ftl";
+	private static final String BENCHMARK_REPOSITORY_TEMPLATE = "BenchmarkRepository.java.ftl";
+	private static final String BENCHMARK_LOAD_DRIVER_TEMPLATE = "BenchmarkLoadDriver.java.ftl";
+
+	// Templates a preview can render: everything rendered from the page's own model
+	private static final Set<String> PREVIEW_TEMPLATES = Set.of(
+			ENTITY_TEMPLATE, REPOSITORY_TEMPLATE, SERVICE_TEMPLATE, CONTROLLER_TEMPLATE, APPLICATION_TEMPLATE,
+			CHANGE_BROADCASTER_TEMPLATE, PROPERTIES_TEMPLATE, POM_TEMPLATE, BENCHMARK_POM_TEMPLATE,
+			BENCHMARK_SAMPLES_TEMPLATE, BENCHMARK_SERIALIZATION_TEMPLATE, BENCHMARK_REPOSITORY_TEMPLATE,
+			BENCHMARK_LOAD_DRIVER_TEMPLATE, DataBaseService.DATABASE_SCRIPT_TEMPLATE, ReactCodeGenService.REACT_TEMPLATE);
 
 	private final FreeMarkerConfigurer freemarkerConfig;
 	private final ReactCodeGenService reactCodeGenService;
 	private final DataBaseService databaseService;
 	private final JdbcTemplate jdbcTemplate;
+	private final GenerationMetrics generationMetrics;
+	private final BuildService buildService;
+	private final CompilationCheckService compilationCheckService;
+	private final ZipPackager zipPackager;
+	private final ArtifactStore artifactStore;
+	private final TypeMappingRegistry typeMappingRegistry;
 
-	@Value("${maven.executable.path}")
-	private String mavenExecutablePath;
+	@Value("${codegen.output.path:generated-app}")
+	private String outputPath;
+
+	private volatile GenerationManifest latestManifest;
 
 	/**
 	 * Generates a full Spring Boot application with a React frontend based on the provided input.
 	 *
+	 * When {@link GeneratorInput#isValidateCompilation()} is set, the generated Java sources are also
+	 * compiled in-process and the diagnostics returned with the result.
+	 *
 	 * @param input The configuration input for code generation.
-	 * @return A message indicating the generation result and list of generated files.
+	 * @return The generation message, generated files and optional compile check.
 	 * @throws ServiceException If generation fails.
 	 */
-	public String generateFullSpringBootApp(GeneratorInput input) {
+	public GenerationResult generateFullSpringBootApp(GeneratorInput input) {
 		long startTime = System.nanoTime();
+		Timer.Sample totalSample = generationMetrics.start();
+		boolean success = false;
 		log.info("Starting Spring Boot application generation for class: {}", input.getClassName());
 
 		try {
-			Path basePath = Paths.get(BASE_PATH);
+			Path basePath = Paths.get(outputPath);
 			deleteDirectory(basePath.toFile());
 
 			String fullClassName = input.getClassName();
@@ -69,8 +103,10 @@ public class CodeGenService {
 			String capitalizedClassName = capitalize(simpleClassName);
 			String basePackage = extractBasePackage(fullClassName);
 			Path javaBasePath = createProjectStructure(basePath, basePackage);
+			GenerationManifest manifest = new GenerationManifest(basePath);
 
-			List<GeneratorInput.Field> fields = prepareFields(input.getFields());
+			List<GeneratorInput.Field> fields = generationMetrics.record(GenerationMetrics.STAGE_FIELD_PREPARATION,
+					() -> prepareFields(input.getFields()));
 			String primaryKey = fields.stream()
 					.filter(GeneratorInput.Field::isPrimary)
 					.findFirst()
@@ -78,30 +114,101 @@ public class CodeGenService {
 					.orElse(DEFAULT_PRIMARY_KEY);
 
 			Map<String, Object> model = createTemplateModel(input, capitalizedClassName, basePackage, fields, primaryKey);
-			List<String> generatedFiles = generateBackendFiles(javaBasePath, capitalizedClassName, basePackage, model);
+			Map<String, String> javaSources = new LinkedHashMap<>();
+			List<String> generatedFiles = generateBackendFiles(javaBasePath, capitalizedClassName, basePackage, model,
+					javaSources, manifest);
 
 			if (input.getMasterTable() != null && !input.getMasterTable().trim().isEmpty()) {
-				generatedFiles.addAll(generateMasterEntity(javaBasePath, basePackage, input.getMasterTable(), model));
+				generatedFiles.addAll(generateMasterEntity(javaBasePath, basePackage, input.getMasterTable(), model,
+						javaSources, manifest));
+				if (input.isProductionProfile()) {
+					generatedFiles.addAll(generateServiceTest(basePath, capitalizedClassName, basePackage, model, manifest));
+				}
 			}
 
-			databaseService.generateDatabaseScript(BASE_PATH, capitalizedClassName, fields, primaryKey);
-			reactCodeGenService.generateReactApp(BASE_PATH + "/react/", capitalizedClassName, fields, primaryKey);
+			if (input.isBenchmarksEnabled()) {
+				generatedFiles.addAll(generateBenchmarkModule(basePath, capitalizedClassName, basePackage, model, manifest));
+			}
+
+			manifest.recordFile(databaseService.generateDatabaseScript(outputPath, capitalizedClassName, fields, primaryKey));
+			reactCodeGenService.generateReactApp(outputPath + "/react/", capitalizedClassName, fields, primaryKey,
+					input.getRoutePath(), manifest);
+			manifest.write();
+			latestManifest = manifest;
+
+			CompilationReport compilationReport = input.isValidateCompilation()
+					? compilationCheckService.check(javaSources, input.getJavaRelease())
+					: null;
 
 			log.info("Successfully generated Spring Boot application for class: {}", input.getClassName());
-			return String.format("Spring Boot application generated at %s\nGenerated files: %s",
+			success = true;
+			String message = String.format("Spring Boot application generated at %s\nGenerated files: %s",
 					basePath, String.join(", ", generatedFiles));
+			if (compilationReport != null) {
+				message += compilationReport.isSuccess()
+						? String.format("\nCompile check passed in %d ms", compilationReport.getDurationMs())
+						: String.format("\nCompile check failed with %d diagnostics", compilationReport.getDiagnostics().size());
+			}
+			// Archives outlive the output directory, which the next generation clears
+			List<Path> storedArchives = manifest.getArchives().stream().map(artifactStore::put).toList();
+			String artifactPath = storedArchives.isEmpty() ? null : storedArchives.get(0).toString();
+			return new GenerationResult(message, generatedFiles, compilationReport, manifest.getRoot().toString(),
+					artifactPath);
 
 		} catch (Exception e) {
 			log.error("Failed to generate Spring Boot application for class: {}", input.getClassName(), e);
 			throw new ServiceException("Failed to generate Spring Boot application", e);
 		} finally {
+			generationMetrics.stop(totalSample, GenerationMetrics.STAGE_TOTAL, null, success);
 			long durationMs = (System.nanoTime() - startTime) / 1_000_000;
 			log.info("Total execution time: {} ms", durationMs);
 		}
 	}
 
 	/**
-	 * Builds a JAR file for the generated Spring Boot project using Maven.
+	 * Renders a single generated file in memory, for previewing a page while it is being edited.
+	 *
+	 * Uses the same field preparation and template models as {@link #generateFullSpringBootApp} and the
+	 * cached compiled templates; nothing is read from or written to the output directory, the host app
+	 * or the database.
+	 *
+	 * @param input        The configuration input for code generation.
+	 * @param templateName The template to render, one of {@link #getPreviewTemplates()}.
+	 * @return The rendered file content.
+	 * @throws RapidControllerException If the template cannot be previewed.
+	 */
+	public String previewTemplate(GeneratorInput input, String templateName) {
+		if (!PREVIEW_TEMPLATES.contains(templateName)) {
+			throw new RapidControllerException("Template cannot be previewed: " + templateName
+					+ "; expected one of " + new TreeSet<>(PREVIEW_TEMPLATES));
+		}
+		return generationMetrics.record(GenerationMetrics.STAGE_PREVIEW, templateName, () -> {
+			String capitalizedClassName = capitalize(extractSimpleClassName(input.getClassName()));
+			String basePackage = extractBasePackage(input.getClassName());
+			List<GeneratorInput.Field> fields = prepareFields(input.getFields());
+			String primaryKey = fields.stream()
+					.filter(GeneratorInput.Field::isPrimary)
+					.findFirst()
+					.map(GeneratorInput.Field::getName)
+					.orElse(DEFAULT_PRIMARY_KEY);
+
+			if (templateName.equals(ReactCodeGenService.REACT_TEMPLATE)) {
+				return reactCodeGenService.renderComponent(capitalizedClassName, fields, primaryKey);
+			}
+			if (templateName.equals(DataBaseService.DATABASE_SCRIPT_TEMPLATE)) {
+				return renderTemplate(templateName, databaseService.createTemplateModel(capitalizedClassName, fields, primaryKey));
+			}
+			return renderTemplate(templateName, createTemplateModel(input, capitalizedClassName, basePackage, fields, primaryKey));
+		});
+	}
+
+	public Set<String> getPreviewTemplates() {
+		return PREVIEW_TEMPLATES;
+	}
+
+	/**
+	 * Builds a JAR file for the generated Spring Boot project using Maven, waiting for the queued build
+	 * to finish. The build itself is bounded by the {@link BuildService} timeout.
 	 *
 	 * @param projectPath The path to the project directory.
 	 * @param jarCommonName The common name for the JAR file.
@@ -109,34 +216,26 @@ public class CodeGenService {
 	 * @throws ServiceException If the build fails.
 	 */
 	public String buildJar(String projectPath, String jarCommonName) {
-		try {
-			ProcessBuilder processBuilder = new ProcessBuilder(
-					"cmd.exe", "/c", mavenExecutablePath, "clean", "package"
-			);
-			processBuilder.directory(new File(projectPath));
-			processBuilder.redirectErrorStream(true);
-			processBuilder.inheritIO();
-
-			Process process = processBuilder.start();
-			int exitCode = process.waitFor();
-
-			if (exitCode == 0) {
-				return String.format("JAR file built successfully at: %s/target/", projectPath);
-			} else {
-				throw new ServiceException("Maven build failed with exit code: " + exitCode);
-			}
-		} catch (IOException | InterruptedException e) {
-			throw new ServiceException("Failed to build JAR for project: " + projectPath, e);
+		BuildJob job = buildService.submit(projectPath).getCompletion().join();
+		if (job.getStatus() == BuildJob.Status.SUCCEEDED) {
+			return String.format("JAR file built successfully at: %s/target/", projectPath);
 		}
+		throw new ServiceException(String.format("Maven build %s %s (exit code: %s)\n%s",
+				job.getId(), job.getStatus(), job.getExitCode(), String.join("\n", job.getLog().tail(20))));
+	}
+
+	public String getOutputPath() {
+		return outputPath;
 	}
 
 	/**
-	 * Zips the generated application directory, excluding ZIP files and target directories.
+	 * Zips exactly the files the last generation into {@code sourceDirPath} produced, as listed in its
+	 * {@link GenerationManifest}; build output and earlier archives are never included.
 	 *
-	 * @param sourceDirPath The source directory to zip.
+	 * @param sourceDirPath The generated application directory.
 	 * @param zipFilePath The path for the output ZIP file.
 	 * @return A message indicating the zipping result.
-	 * @throws ServiceException If zipping fails.
+	 * @throws ServiceException If there is no manifest for the directory or zipping fails.
 	 */
 	public String zipGeneratedApp(String sourceDirPath, String zipFilePath) {
 		Path sourceDir = Paths.get(sourceDirPath);
@@ -145,27 +244,70 @@ public class CodeGenService {
 		}
 
 		log.info("Zipping directory: {} to {}", sourceDirPath, zipFilePath);
-		try (ZipOutputStream zos = new ZipOutputStream(new FileOutputStream(zipFilePath))) {
-			Files.walk(sourceDir)
-					.filter(Files::isRegularFile)
-					.filter(path -> !path.toString().endsWith(".zip"))
-					.filter(path -> !path.toString().contains("target"))
-					.forEach(path -> zipFile(sourceDir, path, zos));
-			log.info("ZIP file created: {}", zipFilePath);
+		Timer.Sample sample = generationMetrics.start();
+		boolean success = false;
+		try {
+			GenerationManifest manifest = findManifest(sourceDir)
+					.orElseThrow(() -> new ServiceException("No generation manifest found in: " + sourceDirPath));
+			Path zipPath = Paths.get(zipFilePath).toAbsolutePath().normalize();
+			zipPackager.zip(manifest.getRoot(), manifest.getFiles(), zipPath);
+			if (zipPath.startsWith(manifest.getRoot())) {
+				manifest.recordArchive(zipPath);
+				manifest.write();
+			}
+			log.info("ZIP file created with {} files: {}", manifest.size(), zipFilePath);
+			success = true;
 			return "ZIP file created successfully: " + zipFilePath;
 		} catch (IOException e) {
 			log.error("Failed to create ZIP file: {}", zipFilePath, e);
 			throw new ServiceException("Failed to create ZIP file: " + zipFilePath, e);
+		} finally {
+			generationMetrics.stop(sample, GenerationMetrics.STAGE_ZIP, null, success);
 		}
 	}
 
-	private void writeTemplateToFile(String templateName, Map<String, Object> dataModel, Path outputPath) {
+	/**
+	 * Renders a template and writes it to the output path.
+	 *
+	 * @return The rendered content.
+	 */
+	private String writeTemplateToFile(String templateName, Map<String, Object> dataModel, Path outputPath,
+									   GenerationManifest manifest) {
+		return generationMetrics.record(GenerationMetrics.STAGE_TEMPLATE_RENDER, templateName, () -> {
+			try {
+				String content = renderTemplate(templateName, dataModel);
+				Files.createDirectories(outputPath.getParent());
+				Files.writeString(outputPath, content);
+				manifest.recordFile(outputPath);
+				return content;
+			} catch (IOException e) {
+				throw new ServiceException("Failed to write template output: " + outputPath, e);
+			}
+		});
+	}
+
+	/**
+	 * Returns the manifest of the last generation into {@code sourceDir}, from memory or from the
+	 * manifest file it left behind.
+	 */
+	public Optional<GenerationManifest> findManifest(Path sourceDir) {
+		GenerationManifest manifest = latestManifest;
+		if (manifest != null && manifest.getRoot().equals(sourceDir.toAbsolutePath().normalize())) {
+			return Optional.of(manifest);
+		}
+		try {
+			return GenerationManifest.read(sourceDir);
+		} catch (IOException e) {
+			throw new ServiceException("Failed to read generation manifest in: " + sourceDir, e);
+		}
+	}
+
+	String renderTemplate(String templateName, Map<String, Object> dataModel) {
 		try {
 			Template template = freemarkerConfig.getConfiguration().getTemplate(templateName);
-			Files.createDirectories(outputPath.getParent());
-			try (Writer out = Files.newBufferedWriter(outputPath)) {
-				template.process(dataModel, out);
-			}
+			StringWriter out = new StringWriter();
+			template.process(dataModel, out);
+			return out.toString();
 		} catch (IOException | TemplateException e) {
 			throw new ServiceException("Failed to process template: " + templateName, e);
 		}
@@ -188,8 +330,10 @@ public class CodeGenService {
 		}
 	}
 
-	private List<GeneratorInput.Field> prepareFields(List<GeneratorInput.Field> inputFields) {
-		List<GeneratorInput.Field> fields = new ArrayList<>(inputFields);
+	List<GeneratorInput.Field> prepareFields(List<GeneratorInput.Field> inputFields) {
+		List<GeneratorInput.Field> fields = inputFields.stream()
+				.map(typeMappingRegistry::withColumnSize)
+				.collect(Collectors.toCollection(ArrayList::new));
 		if (fields.stream().noneMatch(GeneratorInput.Field::isPrimary)) {
 			GeneratorInput.Field idField = new GeneratorInput.Field(
 					DEFAULT_PRIMARY_KEY, "Long", true, "hidden", 0, new ArrayList<>()
@@ -199,10 +343,11 @@ public class CodeGenService {
 		return fields;
 	}
 
-	private Map<String, Object> createTemplateModel(GeneratorInput input, String className, String basePackage,
-													List<GeneratorInput.Field> fields, String primaryKey) {
+	Map<String, Object> createTemplateModel(GeneratorInput input, String className, String basePackage,
+											List<GeneratorInput.Field> fields, String primaryKey) {
 		Map<String, Object> model = new HashMap<>();
-		model.put("className", input.getClassName());
+		// Entities live in the model sub-package, next to the repository/service/controller packages
+		model.put("className", basePackage + ".model." + className);
 		model.put("fields", fields);
 		model.put("primaryKey", primaryKey);
 		model.put("package", basePackage);
@@ -211,26 +356,82 @@ public class CodeGenService {
 		model.put("artifactId", className.toLowerCase());
 		model.put("masterTable", input.getMasterTable());
 		model.put("relationshipType", input.getRelationshipType());
+		model.put("batchFetchSize", BATCH_FETCH_SIZE);
+		model.put("performanceProfile", input.isProductionProfile()
+				? GeneratorInput.PROFILE_PRODUCTION : GeneratorInput.PROFILE_DEFAULT);
+		model.put("productionProfile", input.isProductionProfile());
+		model.put("metricsEnabled", input.isMetricsEnabled());
+		model.put("javaRelease", input.getJavaRelease());
 		return model;
 	}
 
 	private List<String> generateBackendFiles(Path javaBasePath, String className, String basePackage,
-											  Map<String, Object> model) {
+											  Map<String, Object> model, Map<String, String> javaSources,
+											  GenerationManifest manifest) {
 		List<String> generatedFiles = new ArrayList<>();
-		writeTemplateToFile(ENTITY_TEMPLATE, model, javaBasePath.resolve("model").resolve(className + ".java"));
-		writeTemplateToFile(REPOSITORY_TEMPLATE, model, javaBasePath.resolve("repository").resolve(className + "Repository.java"));
-		writeTemplateToFile(SERVICE_TEMPLATE, model, javaBasePath.resolve("service").resolve(className + "Service.java"));
-		writeTemplateToFile(CONTROLLER_TEMPLATE, model, javaBasePath.resolve("controller").resolve(className + "Controller.java"));
-		writeTemplateToFile(APPLICATION_TEMPLATE, model, javaBasePath.resolve("Application.java"));
-		writeTemplateToFile(PROPERTIES_TEMPLATE, model, Paths.get(BASE_PATH).resolve(RESOURCES_PATH).resolve("application.properties"));
-		writeTemplateToFile(POM_TEMPLATE, model, Paths.get(BASE_PATH).resolve("pom.xml"));
+		Map<String, Path> javaOutputs = new LinkedHashMap<>();
+		javaOutputs.put(ENTITY_TEMPLATE, javaBasePath.resolve("model").resolve(className + ".java"));
+		javaOutputs.put(REPOSITORY_TEMPLATE, javaBasePath.resolve("repository").resolve(className + "Repository.java"));
+		javaOutputs.put(SERVICE_TEMPLATE, javaBasePath.resolve("service").resolve(className + "Service.java"));
+		javaOutputs.put(CONTROLLER_TEMPLATE, javaBasePath.resolve("controller").resolve(className + "Controller.java"));
+		javaOutputs.put(APPLICATION_TEMPLATE, javaBasePath.resolve("Application.java"));
+		javaOutputs.put(CHANGE_BROADCASTER_TEMPLATE, javaBasePath.resolve("events").resolve("ChangeBroadcaster.java"));
+		javaOutputs.forEach((templateName, outputPath) ->
+				javaSources.put(outputPath.toString(), writeTemplateToFile(templateName, model, outputPath, manifest)));
+		writeTemplateToFile(PROPERTIES_TEMPLATE, model,
+				Paths.get(outputPath).resolve(RESOURCES_PATH).resolve("application.properties"), manifest);
+		writeTemplateToFile(POM_TEMPLATE, model, Paths.get(outputPath).resolve("pom.xml"), manifest);
 
 		generatedFiles.add(javaBasePath.resolve("model").resolve(className + ".java").toString());
 		return generatedFiles;
 	}
 
+	private List<String> generateBenchmarkModule(Path basePath, String className, String basePackage,
+												 Map<String, Object> model, GenerationManifest manifest) {
+		List<String> generatedFiles = new ArrayList<>();
+		Path benchmarksPath = basePath.resolve(BENCHMARKS_PATH);
+		Path benchmarkJavaPath = benchmarksPath.resolve(JAVA_SRC_PATH)
+				.resolve(basePackage.replace(".", "/"))
+				.resolve(BENCHMARKS_PATH);
+
+		Map<String, Path> outputs = new LinkedHashMap<>();
+		outputs.put(BENCHMARK_POM_TEMPLATE, benchmarksPath.resolve("pom.xml"));
+		outputs.put(BENCHMARK_SAMPLES_TEMPLATE, benchmarkJavaPath.resolve(className + "Samples.java"));
+		outputs.put(BENCHMARK_SERIALIZATION_TEMPLATE, benchmarkJavaPath.resolve(className + "SerializationBenchmark.java"));
+		outputs.put(BENCHMARK_REPOSITORY_TEMPLATE, benchmarkJavaPath.resolve(className + "RepositoryBenchmark.java"));
+		outputs.put(BENCHMARK_LOAD_DRIVER_TEMPLATE, benchmarkJavaPath.resolve(className + "LoadDriver.java"));
+
+		outputs.forEach((templateName, outputPath) -> {
+			writeTemplateToFile(templateName, model, outputPath, manifest);
+			generatedFiles.add(outputPath.toString());
+		});
+		log.info("Generated benchmarks module at: {}", benchmarksPath);
+		return generatedFiles;
+	}
+
+	/**
+	 * Generates a test that saves and updates a child row under the production settings, where open-in-view
+	 * is off and a lazy association left unloaded fails serialization.
+	 *
+	 * A OneToMany master is not generated with the owning side its {@code mappedBy} names, so that context
+	 * cannot start and gets no test.
+	 */
+	private List<String> generateServiceTest(Path basePath, String className, String basePackage,
+											 Map<String, Object> model, GenerationManifest manifest) {
+		if (!TESTED_RELATIONSHIPS.contains(String.valueOf(model.get("relationshipType")))) {
+			return List.of();
+		}
+		Path testPath = basePath.resolve(TEST_SRC_PATH)
+				.resolve(basePackage.replace(".", "/"))
+				.resolve("service")
+				.resolve(className + "ServiceTest.java");
+		writeTemplateToFile(SERVICE_TEST_TEMPLATE, model, testPath, manifest);
+		return List.of(testPath.toString());
+	}
+
 	private List<String> generateMasterEntity(Path javaBasePath, String basePackage, String masterTable,
-											  Map<String, Object> model) {
+											  Map<String, Object> model, Map<String, String> javaSources,
+											  GenerationManifest manifest) {
 		List<String> generatedFiles = new ArrayList<>();
 		String capitalizedMasterTable = capitalize(masterTable);
 		Path masterEntityPath = javaBasePath.resolve("model").resolve(capitalizedMasterTable + ".java");
@@ -250,7 +451,7 @@ public class CodeGenService {
 		masterModel.put("groupId", "com.codegen");
 		masterModel.put("artifactId", masterTable.toLowerCase());
 
-		writeTemplateToFile(ENTITY_TEMPLATE, masterModel, masterEntityPath);
+		javaSources.put(masterEntityPath.toString(), writeTemplateToFile(ENTITY_TEMPLATE, masterModel, masterEntityPath, manifest));
 		generatedFiles.add(masterEntityPath.toString());
 		model.put("masterTable", masterTable.toLowerCase());
 		model.put("relationshipType", model.get("relationshipType"));
@@ -271,25 +472,35 @@ public class CodeGenService {
 	private List<GeneratorInput.Field> fetchColumns(String tableName) {
 		try {
 			List<Map<String, Object>> columns = jdbcTemplate.queryForList(
-					"SELECT c.column_name AS name, c.data_type AS type, " +
+					"SELECT c.column_name AS name, c.data_type AS type, c.column_type AS columnType, " +
+							"c.character_maximum_length AS length, c.numeric_precision AS `precision`, " +
+							"c.numeric_scale AS scale, " +
 							"CASE WHEN k.column_name IS NOT NULL THEN 1 ELSE 0 END AS isPrimary " +
 							"FROM information_schema.columns c " +
 							"LEFT JOIN information_schema.key_column_usage k " +
-							"ON c.table_name = k.table_name AND c.column_name = k.column_name " +
-							"AND k.constraint_name = 'PRIMARY' " +
-							"WHERE c.table_name = ?",
+							"ON c.table_schema = k.table_schema AND c.table_name = k.table_name " +
+							"AND c.column_name = k.column_name AND k.constraint_name = 'PRIMARY' " +
+							"WHERE c.table_schema = DATABASE() AND c.table_name = ? " +
+							"ORDER BY c.ordinal_position",
 					tableName
 			);
 
 			List<GeneratorInput.Field> fields = columns.stream()
-					.map(col -> new GeneratorInput.Field(
-							(String) col.get("name"),
-							mapDbTypeToJavaType((String) col.get("type")),
-							isPrimary(col.get("isPrimary")),
-							isPrimary(col.get("isPrimary")) ? "hidden" : "text",
-							0,
-							new ArrayList<>()
-					))
+					.map(col -> {
+						String javaType = typeMappingRegistry.toJavaType((String) col.get("type"), (String) col.get("columnType"));
+						GeneratorInput.Field field = new GeneratorInput.Field(
+								(String) col.get("name"),
+								javaType,
+								isPrimary(col.get("isPrimary")),
+								isPrimary(col.get("isPrimary")) ? "hidden" : typeMappingRegistry.defaultUiType(javaType),
+								0,
+								new ArrayList<>()
+						);
+						field.setLength(toInteger(col.get("length")));
+						field.setPrecision(toInteger(col.get("precision")));
+						field.setScale(toInteger(col.get("scale")));
+						return typeMappingRegistry.withColumnSize(field);
+					})
 					.collect(Collectors.toList());
 
 			if (fields.stream().noneMatch(GeneratorInput.Field::isPrimary)) {
@@ -304,6 +515,11 @@ public class CodeGenService {
 		}
 	}
 
+	// information_schema sizes are unsigned BIGINTs; LONGTEXT's exceeds an int
+	private Integer toInteger(Object value) {
+		return value instanceof Number number ? (int) Math.min(number.longValue(), Integer.MAX_VALUE) : null;
+	}
+
 	private boolean isPrimary(Object isPrimaryValue) {
 		if (isPrimaryValue == null) return false;
 		if (isPrimaryValue instanceof Boolean) return (Boolean) isPrimaryValue;
@@ -311,22 +527,6 @@ public class CodeGenService {
 		return false;
 	}
 
-	private String mapDbTypeToJavaType(String dbType) {
-		return switch (dbType.toLowerCase()) {
-			case "varchar", "char", "text", "mediumtext", "longtext" -> "String";
-			case "integer", "int" -> "Integer";
-			case "bigint" -> "Long";
-			case "decimal", "numeric" -> "BigDecimal";
-			case "date" -> "LocalDate";
-			case "datetime", "timestamp" -> "LocalDateTime";
-			case "boolean", "tinyint" -> "Boolean";
-			default -> {
-				log.warn("Unknown database type: {}, defaulting to String", dbType);
-				yield "String";
-			}
-		};
-	}
-
 	private String extractSimpleClassName(String fullClassName) {
 		return fullClassName.substring(fullClassName.lastIndexOf('.') + 1);
 	}
@@ -344,19 +544,6 @@ public class CodeGenService {
 		return str.substring(0, 1).toUpperCase() + str.substring(1).toLowerCase();
 	}
 
-	private void zipFile(Path sourceDir, Path filePath, ZipOutputStream zos) {
-		try {
-			ZipEntry zipEntry = new ZipEntry(sourceDir.relativize(filePath).toString());
-			zos.putNextEntry(zipEntry);
-			Files.copy(filePath, zos);
-			zos.closeEntry();
-			log.debug("Zipped file: {}", filePath);
-		} catch (IOException e) {
-			log.error("Failed to zip file: {}", filePath, e);
-			throw new ServiceException("Failed to zip file: " + filePath.getFileName(), e);
-		}
-	}
-
 	public void deleteDirectory(File directory) {
 		if (!directory.exists()) return;
 
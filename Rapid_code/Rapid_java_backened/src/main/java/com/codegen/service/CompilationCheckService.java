@@ -0,0 +1,180 @@
+package com.codegen.service;
+
+import com.codegen.exception.ServiceException;
+import com.codegen.model.CompilationReport;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.tools.Diagnostic;
+import javax.tools.DiagnosticCollector;
+import javax.tools.FileObject;
+import javax.tools.ForwardingJavaFileManager;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Compiles generated Java sources in-process with {@link JavaCompiler}, against the generator's own
+ * classpath, to report compile errors without running a Maven build.
+ * <p>
+ * Sources are read from memory and class files are discarded. The standard file manager is kept
+ * between checks so the classpath jars are only opened once; checks are therefore serialized.
+ * Sources are compiled with {@code --release} set to the generated project's Java release, so APIs
+ * newer than the project targets are reported even when the generator runs on a newer JDK.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class CompilationCheckService {
+
+    private static final List<String> COMPILER_OPTIONS = List.of("-proc:none", "-g:none", "-implicit:none", "-Xlint:none");
+    private static final int HOST_JAVA_RELEASE = Runtime.version().feature();
+
+    private final GenerationMetrics generationMetrics;
+
+    // Defaults to java.class.path; set explicitly when the generator runs from a repackaged jar
+    @Value("${codegen.compile-check.classpath:}")
+    private String classpath;
+
+    private StandardJavaFileManager standardFileManager;
+
+    /**
+     * Compiles the given sources together.
+     *
+     * @param sources Source text keyed by the file name it would be written to.
+     * @param release The Java release the generated project targets.
+     * @return The compile result with every diagnostic javac reported, or a failed result with a single
+     * error when {@code release} is newer than the generator's JDK.
+     * @throws ServiceException If no system Java compiler is available (the generator runs on a JRE).
+     */
+    public synchronized CompilationReport check(Map<String, String> sources, int release) {
+        return generationMetrics.record(GenerationMetrics.STAGE_COMPILE_CHECK, () -> {
+            long startTime = System.nanoTime();
+            if (release > HOST_JAVA_RELEASE) {
+                log.warn("Skipping compile check: sources target Java {}, generator runs on Java {}", release, HOST_JAVA_RELEASE);
+                return new CompilationReport(false, 0L, sources.size(), List.of(new CompilationReport.Diagnostic(
+                        Diagnostic.Kind.ERROR.name(), null, Diagnostic.NOPOS, Diagnostic.NOPOS,
+                        "Cannot check sources for Java " + release + " on the generator's Java " + HOST_JAVA_RELEASE)));
+            }
+            JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+            if (compiler == null) {
+                throw new ServiceException("In-process compile check requires a JDK; no system Java compiler found");
+            }
+
+            List<JavaFileObject> compilationUnits = new ArrayList<>(sources.size());
+            sources.forEach((fileName, source) -> compilationUnits.add(new SourceFile(fileName, source)));
+
+            List<String> options = new ArrayList<>(COMPILER_OPTIONS);
+            options.add("--release");
+            options.add(Integer.toString(release));
+
+            DiagnosticCollector<JavaFileObject> collector = new DiagnosticCollector<>();
+            boolean success = compiler.getTask(null, new DiscardingFileManager(fileManager(compiler)), collector,
+                    options, null, compilationUnits).call();
+
+            List<CompilationReport.Diagnostic> diagnostics = collector.getDiagnostics().stream()
+                    .map(this::toDiagnostic)
+                    .toList();
+            long durationMs = (System.nanoTime() - startTime) / 1_000_000;
+            log.info("Compile check of {} generated sources finished in {} ms: success={}, diagnostics={}",
+                    sources.size(), durationMs, success, diagnostics.size());
+            return new CompilationReport(success, durationMs, sources.size(), diagnostics);
+        });
+    }
+
+    @PreDestroy
+    synchronized void close() throws IOException {
+        if (standardFileManager != null) {
+            standardFileManager.close();
+            standardFileManager = null;
+        }
+    }
+
+    private StandardJavaFileManager fileManager(JavaCompiler compiler) {
+        if (standardFileManager == null) {
+            StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, Locale.ROOT, StandardCharsets.UTF_8);
+            String path = classpath == null || classpath.isBlank() ? System.getProperty("java.class.path") : classpath;
+            List<File> entries = Arrays.stream(path.split(File.pathSeparator))
+                    .filter(entry -> !entry.isBlank())
+                    .map(File::new)
+                    .filter(File::exists)
+                    .toList();
+            try {
+                fileManager.setLocation(StandardLocation.CLASS_PATH, entries);
+            } catch (IOException e) {
+                throw new ServiceException("Failed to set the compile check classpath", e);
+            }
+            log.info("Compile check classpath initialised with {} entries", entries.size());
+            standardFileManager = fileManager;
+        }
+        return standardFileManager;
+    }
+
+    private CompilationReport.Diagnostic toDiagnostic(Diagnostic<? extends JavaFileObject> diagnostic) {
+        JavaFileObject source = diagnostic.getSource();
+        return new CompilationReport.Diagnostic(
+                diagnostic.getKind().name(),
+                source != null ? source.getName() : null,
+                diagnostic.getLineNumber(),
+                diagnostic.getColumnNumber(),
+                diagnostic.getMessage(Locale.ROOT));
+    }
+
+    private static final class SourceFile extends SimpleJavaFileObject {
+
+        private final String source;
+
+        SourceFile(String fileName, String source) {
+            super(URI.create("string:///" + fileName.replace('\\', '/')), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+
+    /**
+     * Sends every generated class file to a throwaway buffer instead of the file system.
+     */
+    private static final class DiscardingFileManager extends ForwardingJavaFileManager<StandardJavaFileManager> {
+
+        DiscardingFileManager(StandardJavaFileManager fileManager) {
+            super(fileManager);
+        }
+
+        @Override
+        public JavaFileObject getJavaFileForOutput(Location location, String className, JavaFileObject.Kind kind,
+                                                   FileObject sibling) {
+            return new SimpleJavaFileObject(URI.create("mem:///" + className.replace('.', '/') + kind.extension), kind) {
+                @Override
+                public OutputStream openOutputStream() {
+                    return new ByteArrayOutputStream();
+                }
+            };
+        }
+
+        @Override
+        public void close() {
+            // The wrapped file manager is shared between checks
+        }
+    }
+}
@@ -4,6 +4,8 @@ import java.io.File;
 import java.io.FileWriter;
 import java.io.IOException;
 import java.lang.reflect.Field;
+import java.nio.file.Path;
+import java.nio.file.Paths;
 import java.util.*;
 import com.codegen.exception.ServiceException;
 import com.codegen.model.GeneratorInput;
@@ -21,19 +23,36 @@ import com.codegen.service.CodeGenService;
 @Service
 public class DataBaseService {
 
+    static final String DATABASE_SCRIPT_TEMPLATE = "DatabaseScript.sql.ftl";
 
 
     @Autowired
     private FreeMarkerConfigurer freemarkerConfig;
-    // Main method to generate SQL script for a table based on fields and primary key
-    public  void generateDatabaseScript(String basePath, String tableName, @Valid @NotEmpty(message = "At least one field is required") List<GeneratorInput.Field> fields, String primaryKey) throws ServiceException {
+
+    @Autowired
+    private GenerationMetrics generationMetrics;
+
+    @Autowired
+    private TypeMappingRegistry typeMappingRegistry;
+    // Main method to generate SQL script for a table based on fields and primary key; returns the script path
+    public Path generateDatabaseScript(String basePath, String tableName, @Valid @NotEmpty(message = "At least one field is required") List<GeneratorInput.Field> fields, String primaryKey) throws ServiceException {
+        Map<String, Object> model = createTemplateModel(tableName, fields, primaryKey);
+
+        String outputPath = basePath + "/src/db/generated_schema.sql";
+
+        generationMetrics.record(GenerationMetrics.STAGE_SQL_SCRIPT, DATABASE_SCRIPT_TEMPLATE,
+                () -> writeTemplateToFile(DATABASE_SCRIPT_TEMPLATE, model, outputPath));
+        return Paths.get(outputPath);
+    }
+
+    // Builds the DatabaseScript.sql.ftl model for a table
+    Map<String, Object> createTemplateModel(String tableName, List<GeneratorInput.Field> fields, String primaryKey) {
         List<Map<String, String>> sqlFields = new ArrayList<>();
 
         for (GeneratorInput.Field f : fields) {
             Map<String, String> fieldMap = new HashMap<>();
             fieldMap.put("name", f.getName());
-            // Pass the class simple name to mapToSqlType
-            fieldMap.put("sqlType", mapToSqlType(f.getType()));
+            fieldMap.put("sqlType", typeMappingRegistry.toSqlType(f));
             sqlFields.add(fieldMap);
         }
 
@@ -41,26 +60,7 @@ public class DataBaseService {
         model.put("tableName", tableName);
         model.put("fields", sqlFields);
         model.put("primaryKey", primaryKey);
-
-        String outputPath = basePath + "/src/db/generated_schema.sql";
-
-        writeTemplateToFile("DatabaseScript.sql.ftl", model, outputPath);
-    }
-
-
-    private static String mapToSqlType(String javaType) {
-        switch (javaType.toLowerCase()) {
-            case "string": return "VARCHAR(255)";
-            case "int":
-            case "integer": return "INT";
-            case "long": return "BIGINT";
-            case "boolean": return "BOOLEAN";
-            case "date": return "DATE";
-            case "timestamp": return "TIMESTAMP";
-            case "double": return "DOUBLE";
-            case "float": return "FLOAT";
-            default: return "VARCHAR(255)";
-        }
+        return model;
     }
 
 
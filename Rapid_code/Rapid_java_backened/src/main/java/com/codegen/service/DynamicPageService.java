@@ -57,6 +57,20 @@ public class DynamicPageService {
         return savedMenu.getId();
     }
 
+    /**
+     * Look up a menu's id by name without creating it.
+     */
+    public Optional<Long> findMenuId(String menuName) {
+        return menuRepository.findByName(menuName).map(Menu::getId);
+    }
+
+    /**
+     * Look up a submenu's id by menuId and submenu name without creating or updating it.
+     */
+    public Optional<Long> findSubMenuId(Long menuId, String subMenuName) {
+        return subMenuRepository.findByMenuIdAndName(menuId, subMenuName).map(SubMenu::getId);
+    }
+
     /**
      * Get existing submenu by menuId and submenu name, or create/update it.
      */
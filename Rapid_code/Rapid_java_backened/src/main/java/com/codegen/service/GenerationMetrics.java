@@ -0,0 +1,90 @@
+package com.codegen.service;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+import java.util.function.Supplier;
+
+/**
+ * Records the duration of each code generation stage as a Micrometer timer.
+ * <p>
+ * All stages share the {@value #STAGE_TIMER} timer, tagged with {@code stage}, {@code template}
+ * (or {@value #NO_TEMPLATE}) and {@code outcome}, and publish percentile histograms so p99 can be
+ * alerted on from the Prometheus endpoint.
+ */
+@Component
+@RequiredArgsConstructor
+public class GenerationMetrics {
+
+    public static final String STAGE_TIMER = "codegen.stage.duration";
+    public static final String NO_TEMPLATE = "none";
+
+    public static final String STAGE_MENU_UPSERT = "menu.upsert";
+    public static final String STAGE_PERMISSIONS = "permission.provisioning";
+    public static final String STAGE_FIELD_PREPARATION = "field.preparation";
+    public static final String STAGE_TEMPLATE_RENDER = "template.render";
+    public static final String STAGE_COMPILE_CHECK = "compile.check";
+    public static final String STAGE_PREVIEW = "template.preview";
+    public static final String STAGE_SQL_SCRIPT = "sql.script";
+    public static final String STAGE_REACT_RENDER = "react.render";
+    public static final String STAGE_ZIP = "zip";
+    public static final String STAGE_MAVEN_BUILD = "maven.build";
+    public static final String STAGE_TOTAL = "generation.total";
+
+    private static final String OUTCOME_SUCCESS = "success";
+    private static final String OUTCOME_FAILURE = "failure";
+
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Times a stage that does not render a specific template.
+     */
+    public <T> T record(String stage, Supplier<T> action) {
+        return record(stage, NO_TEMPLATE, action);
+    }
+
+    public void record(String stage, Runnable action) {
+        record(stage, NO_TEMPLATE, action);
+    }
+
+    public void record(String stage, String template, Runnable action) {
+        record(stage, template, () -> {
+            action.run();
+            return null;
+        });
+    }
+
+    /**
+     * Times a stage, tagging the outcome as failure if the action throws.
+     */
+    public <T> T record(String stage, String template, Supplier<T> action) {
+        Timer.Sample sample = start();
+        boolean success = false;
+        try {
+            T result = action.get();
+            success = true;
+            return result;
+        } finally {
+            stop(sample, stage, template, success);
+        }
+    }
+
+    /**
+     * Starts timing a stage whose body throws checked exceptions; finish it with {@link #stop}.
+     */
+    public Timer.Sample start() {
+        return Timer.start(meterRegistry);
+    }
+
+    public void stop(Timer.Sample sample, String stage, String template, boolean success) {
+        sample.stop(Timer.builder(STAGE_TIMER)
+                .description("Duration of a code generation stage")
+                .tag("stage", stage)
+                .tag("template", template != null ? template : NO_TEMPLATE)
+                .tag("outcome", success ? OUTCOME_SUCCESS : OUTCOME_FAILURE)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+    }
+}
@@ -0,0 +1,136 @@
+package com.codegen.service;
+
+import com.codegen.exception.RapidControllerException;
+import com.codegen.exception.ServiceException;
+import com.codegen.model.DynamicPageCreation;
+import com.codegen.model.GeneratorInput;
+import com.codegen.repository.DynamicPageCreationRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HexFormat;
+import java.util.Optional;
+
+/**
+ * Records every generation in {@code dynamic_page_creation} and answers "is this already generated"
+ * from the table's indexes instead of the file system.
+ * <p>
+ * A generation is identified by the hash of its {@link GeneratorInput} and the version of the template
+ * set, itself a hash of every template on the classpath, so editing a template invalidates earlier
+ * generations. Route paths belong to one table; a request for another table's route is rejected
+ * before anything is written.
+ */
+@Slf4j
+@Service
+public class GenerationRegistry {
+
+    private static final String TEMPLATE_PATTERN = "classpath*:/templates/**/*.ftl";
+
+    private final DynamicPageCreationRepository repository;
+    private final RequestDeduplicator requestDeduplicator;
+
+    private String templateVersion;
+
+    public GenerationRegistry(DynamicPageCreationRepository repository, RequestDeduplicator requestDeduplicator) {
+        this.repository = repository;
+        this.requestDeduplicator = requestDeduplicator;
+    }
+
+    @PostConstruct
+    void init() {
+        try {
+            Resource[] templates = new PathMatchingResourcePatternResolver().getResources(TEMPLATE_PATTERN);
+            Arrays.sort(templates, Comparator.comparing(this::templatePath));
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            for (Resource template : templates) {
+                digest.update(templatePath(template).getBytes(StandardCharsets.UTF_8));
+                try (InputStream in = template.getInputStream()) {
+                    digest.update(in.readAllBytes());
+                }
+            }
+            templateVersion = HexFormat.of().formatHex(digest.digest()).substring(0, 16);
+            log.info("Template set version {} ({} templates)", templateVersion, templates.length);
+        } catch (IOException | NoSuchAlgorithmException e) {
+            throw new ServiceException("Failed to fingerprint the template set", e);
+        }
+    }
+
+    public String getTemplateVersion() {
+        return templateVersion;
+    }
+
+    /**
+     * @return The hash identifying a generation of {@code input} with the current template set.
+     */
+    public String hash(GeneratorInput input) {
+        return requestDeduplicator.canonicalHash(input);
+    }
+
+    /**
+     * Checks that {@code routePath} is free or already belongs to {@code tableName}.
+     *
+     * @throws RapidControllerException If another table's page is generated under the route.
+     */
+    public void checkRoute(String tableName, String routePath) {
+        repository.findByRoutePath(routePath)
+                .filter(generation -> !generation.getTableName().equalsIgnoreCase(tableName))
+                .ifPresent(generation -> {
+                    throw new RapidControllerException(String.format(
+                            "Route path %s is already used by the page generated for table %s",
+                            routePath, generation.getTableName()));
+                });
+    }
+
+    /**
+     * Returns the recorded generation of this exact input and template set, if it is also the latest
+     * generation and so still the one in the output directory.
+     */
+    public Optional<DynamicPageCreation> findCurrent(String inputHash) {
+        return repository.findFirstByInputHashAndTemplateVersion(inputHash, templateVersion)
+                .filter(generation -> repository.findFirstByOrderByGeneratedAtDesc()
+                        .map(latest -> latest.getDynamicPageId().equals(generation.getDynamicPageId()))
+                        .orElse(false));
+    }
+
+    /**
+     * Records a completed generation, replacing the table's previous one.
+     */
+    @Transactional
+    public DynamicPageCreation record(String tableName, String pageName, String routePath, String inputHash,
+                                      String outputPath, String artifactPath, long durationMs) {
+        DynamicPageCreation generation = repository.findByTableName(tableName).orElseGet(DynamicPageCreation::new);
+        generation.setTableName(tableName);
+        generation.setPageName(pageName != null && !pageName.isBlank() ? pageName : tableName);
+        generation.setRoutePath(routePath);
+        generation.setFilePath(outputPath);
+        generation.setArtifactPath(artifactPath);
+        generation.setInputHash(inputHash);
+        generation.setTemplateVersion(templateVersion);
+        generation.setDurationMs(durationMs);
+        generation.setGeneratedAt(LocalDateTime.now());
+        DynamicPageCreation saved = repository.save(generation);
+        log.info("Recorded generation {} of table {} at {} ({} ms)", inputHash, tableName, routePath, durationMs);
+        return saved;
+    }
+
+    private String templatePath(Resource template) {
+        try {
+            String url = template.getURL().toString();
+            return url.substring(url.lastIndexOf("/templates/") + 1);
+        } catch (IOException e) {
+            return String.valueOf(template.getFilename());
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.codegen.service;
+
+import com.codegen.model.QueryProfile;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import net.ttddyy.dsproxy.ExecutionInfo;
+import net.ttddyy.dsproxy.QueryInfo;
+import net.ttddyy.dsproxy.listener.QueryExecutionListener;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Attributes every JDBC statement to the request running on the current thread and to the generator
+ * method that issued it.
+ * <p>
+ * Registered on the proxied data source only when {@code codegen.query-profiling.enabled} is set;
+ * statements outside a profiled request (startup, background threads) are not recorded. When a
+ * request ends its totals are published as {@code codegen.jdbc.*} meters and N+1 candidates are logged.
+ */
+@Slf4j
+public class QueryProfiler implements QueryExecutionListener {
+
+    private static final String CODEGEN_PACKAGE = "com.codegen.";
+    private static final String UNKNOWN_SITE = "unknown";
+    private static final StackWalker STACK_WALKER = StackWalker.getInstance();
+
+    private final ThreadLocal<QueryProfile> currentProfile = new ThreadLocal<>();
+    private final MeterRegistry meterRegistry;
+    private final int nPlusOneThreshold;
+
+    public QueryProfiler(MeterRegistry meterRegistry, int nPlusOneThreshold) {
+        this.meterRegistry = meterRegistry;
+        this.nPlusOneThreshold = nPlusOneThreshold;
+    }
+
+    public void begin() {
+        currentProfile.set(new QueryProfile());
+    }
+
+    public Optional<QueryProfile> current() {
+        return Optional.ofNullable(currentProfile.get());
+    }
+
+    public int getNPlusOneThreshold() {
+        return nPlusOneThreshold;
+    }
+
+    /**
+     * Ends the current thread's profile and publishes it.
+     *
+     * @param endpoint The handler's URI pattern, used as a meter tag.
+     */
+    public void end(String endpoint) {
+        QueryProfile profile = currentProfile.get();
+        currentProfile.remove();
+        if (profile == null || profile.getStatementCount() == 0) {
+            return;
+        }
+
+        DistributionSummary.builder("codegen.jdbc.request.statements")
+                .description("JDBC statements executed per request")
+                .tag("endpoint", endpoint)
+                .register(meterRegistry)
+                .record(profile.getStatementCount());
+        for (QueryProfile.SiteStats site : profile.getSites()) {
+            Counter.builder("codegen.jdbc.statements")
+                    .description("JDBC statements executed, by the generator method that issued them")
+                    .tag("site", site.site())
+                    .register(meterRegistry)
+                    .increment(site.statements());
+            Timer.builder("codegen.jdbc.time")
+                    .description("Time spent in JDBC statements, by the generator method that issued them")
+                    .tag("site", site.site())
+                    .register(meterRegistry)
+                    .record(site.timeMs(), TimeUnit.MILLISECONDS);
+        }
+
+        List<QueryProfile.NPlusOneCandidate> candidates = profile.getNPlusOneCandidates(nPlusOneThreshold);
+        for (QueryProfile.NPlusOneCandidate candidate : candidates) {
+            Counter.builder("codegen.jdbc.n_plus_one")
+                    .description("Requests in which a call site repeated one statement shape")
+                    .tag("site", candidate.site())
+                    .register(meterRegistry)
+                    .increment();
+            log.warn("Possible N+1 in {}: {} executed {} times from {}", endpoint, candidate.sql(),
+                    candidate.executions(), candidate.site());
+        }
+        log.info("{} executed {} statements in {} ms; by site: {}", endpoint, profile.getStatementCount(),
+                profile.getTotalTimeMs(), profile.getSites());
+    }
+
+    @Override
+    public void beforeQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+    }
+
+    @Override
+    public void afterQuery(ExecutionInfo execInfo, List<QueryInfo> queryInfoList) {
+        QueryProfile profile = currentProfile.get();
+        if (profile == null) {
+            return;
+        }
+        String site = callSite();
+        // A prepared-statement batch is one query run batchSize times; a statement batch lists each query
+        int statements = queryInfoList.size() == 1 ? Math.max(1, execInfo.getBatchSize()) : 1;
+        for (QueryInfo queryInfo : queryInfoList) {
+            profile.record(site, queryInfo.getQuery(), statements, execInfo.getElapsedTime() / queryInfoList.size());
+        }
+    }
+
+    /**
+     * The innermost generator method on the stack, e.g. {@code DynamicPageService.createOrUpdateRolePermission}.
+     */
+    private String callSite() {
+        return STACK_WALKER.walk(frames -> frames
+                .filter(frame -> frame.getClassName().startsWith(CODEGEN_PACKAGE)
+                        && !frame.getClassName().equals(QueryProfiler.class.getName()))
+                .findFirst()
+                .map(frame -> simpleName(frame.getClassName()) + "." + methodName(frame.getMethodName()))
+                .orElse(UNKNOWN_SITE));
+    }
+
+    private static String simpleName(String className) {
+        String name = className.substring(className.lastIndexOf('.') + 1);
+        int proxySuffix = name.indexOf("$$");
+        return proxySuffix > 0 ? name.substring(0, proxySuffix) : name;
+    }
+
+    private static String methodName(String methodName) {
+        // lambda$createOrUpdateRolePermission$0 -> createOrUpdateRolePermission
+        if (methodName.startsWith("lambda$")) {
+            int end = methodName.indexOf('$', "lambda$".length());
+            return end > 0 ? methodName.substring("lambda$".length(), end) : methodName;
+        }
+        return methodName;
+    }
+}
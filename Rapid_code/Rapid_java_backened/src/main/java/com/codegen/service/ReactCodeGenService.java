@@ -1,9 +1,13 @@
 package com.codegen.service;
 
 import com.codegen.exception.ServiceException;
+import com.codegen.model.GenerationManifest;
 import com.codegen.model.GeneratorInput;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import freemarker.template.Template;
 import freemarker.template.TemplateException;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Value;
@@ -12,15 +16,18 @@ import org.springframework.web.servlet.view.freemarker.FreeMarkerConfigurer;
 
 import java.io.File;
 import java.io.IOException;
-import java.io.Writer;
+import java.io.StringWriter;
+import java.nio.file.AtomicMoveNotSupportedException;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipOutputStream;
+import java.util.TreeMap;
 
 /**
  * Service for generating a React frontend application structure and components.
@@ -30,7 +37,12 @@ import java.util.zip.ZipOutputStream;
 @RequiredArgsConstructor
 public class ReactCodeGenService {
 
-    private static final String REACT_TEMPLATE = "ReactCurdPage.ftl";
+    static final String REACT_TEMPLATE = "ReactCurdPage.ftl";
+    private static final String ROUTE_REGISTRY_TEMPLATE = "RouteRegistry.js.ftl";
+    private static final String QUERY_CACHE_TEMPLATE = "QueryCache.js.ftl";
+    private static final String QUERY_CACHE_JS = "queryCache.js";
+    private static final String ROUTE_REGISTRY_JS = "routeRegistry.js";
+    private static final String ROUTE_REGISTRY_JSON = "routeRegistry.json";
     private static final String COMPONENTS_SUBPATH = "components";
     private static final String PUBLIC_SUBPATH = "public";
     private static final String SRC_SUBPATH = "src";
@@ -40,12 +52,29 @@ public class ReactCodeGenService {
     private static final String INDEX_HTML = "index.html";
     private static final String CRUD_FILE_SUFFIX = "Crud.jsx";
     private static final String ZIP_FILE_SUFFIX = "-react.zip";
+    private static final String STAGING_DIR = ".codegen-staging";
+    private static final TypeReference<TreeMap<String, String>> ROUTES_TYPE = new TypeReference<>() {
+    };
+
+    /**
+     * Content written to the staging directory, waiting to be renamed over its target in the host app.
+     */
+    private record StagedFile(Path staged, Path target) {
+    }
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
 
     private final FreeMarkerConfigurer freemarkerConfig;
+    private final GenerationMetrics generationMetrics;
+    private final ZipPackager zipPackager;
 
     @Value("${react.generated.components.path}")
     private String generatedComponentsPath;
 
+    // Must be on the same filesystem as the components directory and outside the host's module graph
+    @Value("${react.generated.staging.path:}")
+    private String stagingPath;
+
     /**
      * Generates a React application with a CRUD component for the specified entity.
      *
@@ -53,10 +82,13 @@ public class ReactCodeGenService {
      * @param entityName  The name of the entity for which to generate the CRUD component.
      * @param fields      The fields for the entity.
      * @param primaryKey  The primary key field name.
+     * @param routePath   The host route the component is served under; defaults to {@code /<entity>}.
+     * @param manifest    Records the files written under {@code basePath} and the ZIP built from them.
      * @return A message indicating the generation result and ZIP file path.
      * @throws ServiceException If generation fails.
      */
-    public String generateReactApp(String basePath, String entityName, List<GeneratorInput.Field> fields, String primaryKey) {
+    public String generateReactApp(String basePath, String entityName, List<GeneratorInput.Field> fields, String primaryKey,
+                                   String routePath, GenerationManifest manifest) {
         long startTime = System.nanoTime();
         log.info("Starting React app generation for entity: {}", entityName);
 
@@ -65,18 +97,24 @@ public class ReactCodeGenService {
             deleteDirectory(baseDir.toFile());
             createReactProjectStructure(baseDir);
 
-            String capitalizedEntityName = "MJB"; // TODO: Replace with dynamic capitalization
-            Map<String, Object> model = createTemplateModel(entityName, capitalizedEntityName, fields, primaryKey);
+            String capitalizedEntityName = toComponentName(entityName);
+            String component = renderComponent(entityName, fields, primaryKey);
+            String queryCache = renderTemplate(QUERY_CACHE_TEMPLATE, Map.of());
 
+            // Components import the shared query cache from their parent directory, in the host and the ZIP alike
             Path componentsDir = validateAndCreateComponentsDir();
-            Path reactComponentPath = componentsDir.resolve(capitalizedEntityName + CRUD_FILE_SUFFIX);
-            writeTemplateToFile(REACT_TEMPLATE, model, reactComponentPath);
+            publishPage(componentsDir, capitalizedEntityName, component, queryCache,
+                    normalizeRoutePath(routePath, capitalizedEntityName));
 
-            generateStaticFiles(baseDir, capitalizedEntityName);
+            writeToFile(baseDir.resolve(SRC_SUBPATH).resolve(COMPONENTS_SUBPATH)
+                    .resolve(capitalizedEntityName + CRUD_FILE_SUFFIX), component, manifest);
+            writeToFile(baseDir.resolve(SRC_SUBPATH).resolve(QUERY_CACHE_JS), queryCache, manifest);
+            generateStaticFiles(baseDir, capitalizedEntityName, manifest);
 
             String zipFileName = capitalizedEntityName + ZIP_FILE_SUFFIX;
             Path zipPath = baseDir.resolveSibling(zipFileName);
-            zipFolder(baseDir, zipPath);
+            zipFolder(baseDir, manifest.getFilesUnder(baseDir), zipPath);
+            manifest.recordArchive(zipPath);
 
             log.info("React app generation complete for entity: {}", entityName);
             return String.format("React app generated successfully: %s", zipPath);
@@ -117,7 +155,7 @@ public class ReactCodeGenService {
         if (generatedComponentsPath == null || generatedComponentsPath.trim().isEmpty()) {
             throw new ServiceException("React components path is not configured");
         }
-        Path componentsDir = Paths.get(generatedComponentsPath);
+        Path componentsDir = Paths.get(generatedComponentsPath).toAbsolutePath().normalize();
         try {
             Files.createDirectories(componentsDir);
             return componentsDir;
@@ -135,10 +173,11 @@ public class ReactCodeGenService {
      * @param primaryKey           The primary key field name.
      * @return The template model.
      */
-    private Map<String, Object> createTemplateModel(String entityName, String capitalizedEntityName,
-                                                    List<GeneratorInput.Field> fields, String primaryKey) {
+    Map<String, Object> createTemplateModel(String entityName, String capitalizedEntityName,
+                                            List<GeneratorInput.Field> fields, String primaryKey) {
         Map<String, Object> model = new HashMap<>();
         model.put("pageName", capitalizedEntityName);
+        model.put("componentName", capitalizedEntityName);
         model.put("className", entityName);
         model.put("fields", fields);
         model.put("primaryKey", primaryKey);
@@ -146,38 +185,193 @@ public class ReactCodeGenService {
         return model;
     }
 
+    /**
+     * Renders the CRUD page component for an entity without writing it anywhere.
+     *
+     * @param entityName The name of the entity.
+     * @param fields     The fields for the entity.
+     * @param primaryKey The primary key field name.
+     * @return The component source.
+     */
+    String renderComponent(String entityName, List<GeneratorInput.Field> fields, String primaryKey) {
+        return renderTemplate(REACT_TEMPLATE, createTemplateModel(entityName, toComponentName(entityName), fields, primaryKey));
+    }
+
     /**
      * Generates static React files (index.js, App.js, package.json, index.html).
      *
      * @param basePath             The base directory path.
      * @param capitalizedEntityName The capitalized entity name.
+     * @param manifest             Records each written file.
      * @throws IOException If file writing fails.
      */
-    private void generateStaticFiles(Path basePath, String capitalizedEntityName) throws IOException {
-        writeToFile(basePath.resolve(SRC_SUBPATH).resolve(INDEX_JS), generateIndexJsContent());
-        writeToFile(basePath.resolve(SRC_SUBPATH).resolve(APP_JS), generateAppJsContent(capitalizedEntityName));
-        writeToFile(basePath.resolve(PACKAGE_JSON), generatePackageJsonContent());
-        writeToFile(basePath.resolve(PUBLIC_SUBPATH).resolve(INDEX_HTML), generateIndexHtmlContent());
+    private void generateStaticFiles(Path basePath, String capitalizedEntityName, GenerationManifest manifest)
+            throws IOException {
+        writeToFile(basePath.resolve(SRC_SUBPATH).resolve(INDEX_JS), generateIndexJsContent(), manifest);
+        writeToFile(basePath.resolve(SRC_SUBPATH).resolve(APP_JS), generateAppJsContent(capitalizedEntityName), manifest);
+        writeToFile(basePath.resolve(PACKAGE_JSON), generatePackageJsonContent(), manifest);
+        writeToFile(basePath.resolve(PUBLIC_SUBPATH).resolve(INDEX_HTML), generateIndexHtmlContent(), manifest);
     }
 
     /**
-     * Writes a FreeMarker template to a file.
+     * Publishes the page into the live host app: the shared query cache, the component, and the route
+     * registry with the component's route added. The registry is kept as JSON next to the components
+     * directory so earlier pages keep their routes; a route that is generated again points at the newest
+     * component.
+     * <p>
+     * Every file is staged before any is published, and the lazily loading {@value #ROUTE_REGISTRY_JS}
+     * is renamed into place last. The host only imports a new component through that file, so its dev
+     * server never routes to a component, or a query cache, that is missing or from an earlier generation.
+     * If staging fails, nothing is published.
+     * <p>
+     * Files whose content is unchanged are not published, so regenerating a page moves only its component,
+     * and adding one moves the component, {@value #ROUTE_REGISTRY_JSON} and {@value #ROUTE_REGISTRY_JS}; the
+     * query cache moves only when its template changes. The JSON registry is not imported by the host, so
+     * it does not trigger a rebuild, and the remaining renames follow each other within the dev server's
+     * watcher aggregation delay (300 ms by default for webpack) and are rebuilt once.
+     *
+     * @param componentsDir The host's components directory; the query cache and registry live in its parent.
+     * @param componentName The component's name, without the {@code Crud} suffix.
+     * @param component     The component source.
+     * @param queryCache    The shared query cache source.
+     * @param routePath     The normalized route path.
+     * @throws ServiceException If the registry cannot be read or a file cannot be staged or published.
+     */
+    private synchronized void publishPage(Path componentsDir, String componentName, String component,
+                                          String queryCache, String routePath) {
+        Path pagesDir = componentsDir.getParent();
+        Path registryFile = pagesDir.resolve(ROUTE_REGISTRY_JSON);
+        Path stagingDir = resolveStagingDir(pagesDir);
+        List<StagedFile> staged = new ArrayList<>();
+        try {
+            TreeMap<String, String> routes = Files.isRegularFile(registryFile)
+                    ? objectMapper.readValue(registryFile.toFile(), ROUTES_TYPE)
+                    : new TreeMap<>();
+            routes.put(routePath, componentName);
+            List<Map<String, String>> entries = routes.entrySet().stream()
+                    .map(route -> Map.of("routePath", route.getKey(), "component", route.getValue()))
+                    .toList();
+
+            stage(staged, stagingDir, pagesDir.resolve(QUERY_CACHE_JS), queryCache);
+            stage(staged, stagingDir, componentsDir.resolve(componentName + CRUD_FILE_SUFFIX), component);
+            stage(staged, stagingDir, registryFile,
+                    objectMapper.writerWithDefaultPrettyPrinter().writeValueAsString(routes) + "\n");
+            stage(staged, stagingDir, pagesDir.resolve(ROUTE_REGISTRY_JS),
+                    renderTemplate(ROUTE_REGISTRY_TEMPLATE, Map.of("routes", entries)));
+
+            for (StagedFile file : staged) {
+                publish(file);
+            }
+            log.info("Registered route {} for {}{} ({} generated routes, {} files published)", routePath,
+                    componentName, CRUD_FILE_SUFFIX, routes.size(), staged.size());
+        } catch (IOException e) {
+            throw new ServiceException("Failed to publish page " + componentName + " into: " + pagesDir, e);
+        } finally {
+            staged.forEach(file -> deleteQuietly(file.staged()));
+        }
+    }
+
+    /**
+     * Derives the component name from an entity name, e.g. {@code com.example.model.Employee} becomes
+     * {@code Employee}; characters that are not valid in a JavaScript identifier are dropped.
+     */
+    static String toComponentName(String entityName) {
+        String name = entityName.substring(entityName.lastIndexOf('.') + 1).replaceAll("[^A-Za-z0-9_$]", "");
+        if (name.isEmpty() || Character.isDigit(name.charAt(0))) {
+            throw new ServiceException("Cannot derive a component name from entity: " + entityName);
+        }
+        return Character.toUpperCase(name.charAt(0)) + name.substring(1);
+    }
+
+    /**
+     * Normalizes a route path to a leading slash and no trailing slash, defaulting to the lower-cased
+     * component name.
+     */
+    static String normalizeRoutePath(String routePath, String componentName) {
+        String path = routePath == null || routePath.isBlank()
+                ? componentName.toLowerCase(Locale.ROOT)
+                : routePath.trim();
+        path = "/" + path.replaceAll("^/+", "").replaceAll("/+$", "");
+        if (!path.matches("[A-Za-z0-9/_\\-.:]*")) {
+            throw new ServiceException("Invalid route path: " + routePath);
+        }
+        return path;
+    }
+
+    /**
+     * Renders a FreeMarker template to a string.
      *
      * @param templateName The name of the FreeMarker template.
      * @param dataModel    The data model for the template.
-     * @param outputPath   The output file path.
-     * @throws ServiceException If template processing or file writing fails.
+     * @return The rendered content.
+     * @throws ServiceException If template processing fails.
      */
-    private void writeTemplateToFile(String templateName, Map<String, Object> dataModel, Path outputPath) {
-        try {
-            Template template = freemarkerConfig.getConfiguration().getTemplate(templateName);
-            Files.createDirectories(outputPath.getParent());
-            try (Writer out = Files.newBufferedWriter(outputPath)) {
+    private String renderTemplate(String templateName, Map<String, Object> dataModel) {
+        return generationMetrics.record(GenerationMetrics.STAGE_REACT_RENDER, templateName, () -> {
+            try {
+                Template template = freemarkerConfig.getConfiguration().getTemplate(templateName);
+                StringWriter out = new StringWriter();
                 template.process(dataModel, out);
+                return out.toString();
+            } catch (IOException | TemplateException e) {
+                throw new ServiceException("Failed to process template: " + templateName, e);
             }
-        } catch (IOException | TemplateException e) {
-            throw new ServiceException("Failed to process template: " + templateName, e);
+        });
+    }
+
+    /**
+     * Writes content to the staging directory, to be published later with a single rename, so the host
+     * app's dev server never sees a missing or half-written file. Unchanged content is not staged at all.
+     *
+     * @param staged     Collects the staged file.
+     * @param stagingDir The staging directory shared by every file of the page.
+     * @param target     The file in the host app.
+     * @param content    The content to publish.
+     * @throws IOException If the content cannot be staged.
+     */
+    private void stage(List<StagedFile> staged, Path stagingDir, Path target, String content) throws IOException {
+        if (Files.isRegularFile(target) && Files.readString(target).equals(content)) {
+            log.info("{} is unchanged, not republishing", target.getFileName());
+            return;
+        }
+        Files.createDirectories(stagingDir);
+        Path file = Files.createTempFile(stagingDir, target.getFileName().toString(), ".tmp");
+        staged.add(new StagedFile(file, target));
+        Files.writeString(file, content);
+    }
+
+    /**
+     * Renames a staged file over its target in the host app.
+     *
+     * @throws IOException If the rename fails.
+     */
+    private void publish(StagedFile file) throws IOException {
+        try {
+            Files.move(file.staged(), file.target(), StandardCopyOption.ATOMIC_MOVE);
+        } catch (AtomicMoveNotSupportedException e) {
+            log.warn("Atomic move not supported from {} to {}, falling back to replace", file.staged(), file.target());
+            Files.move(file.staged(), file.target(), StandardCopyOption.REPLACE_EXISTING);
+        }
+        log.info("Published {}", file.target());
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete staged file: {}", file, e);
+        }
+    }
+
+    /**
+     * The configured staging directory, else {@value #STAGING_DIR} in the directory holding the components
+     * directory, query cache and route registry.
+     */
+    private Path resolveStagingDir(Path pagesDir) {
+        if (stagingPath != null && !stagingPath.isBlank()) {
+            return Paths.get(stagingPath);
         }
+        return pagesDir.resolve(STAGING_DIR);
     }
 
     /**
@@ -185,67 +379,43 @@ public class ReactCodeGenService {
      *
      * @param filePath The file path.
      * @param content  The content to write.
+     * @param manifest Records the written file.
      * @throws IOException If file writing fails.
      */
-    private void writeToFile(Path filePath, String content) throws IOException {
+    private void writeToFile(Path filePath, String content, GenerationManifest manifest) throws IOException {
         Files.createDirectories(filePath.getParent());
         Files.writeString(filePath, content);
+        manifest.recordFile(filePath);
     }
 
     /**
-     * Zips the React project directory.
+     * Zips the generated React project files.
      *
-     * @param sourceDir The source directory to zip.
+     * @param sourceDir The React project directory entry names are relative to.
+     * @param files     The generated files to include.
      * @param zipPath   The output ZIP file path.
      * @throws IOException If zipping fails.
      */
-    private void zipFolder(Path sourceDir, Path zipPath) throws IOException {
+    void zipFolder(Path sourceDir, List<Path> files, Path zipPath) throws IOException {
         log.info("Zipping React app to: {}", zipPath);
-        try (ZipOutputStream zos = new ZipOutputStream(Files.newOutputStream(zipPath))) {
-            Files.walk(sourceDir)
-                    .filter(Files::isRegularFile)
-                    .forEach(path -> zipFile(sourceDir, path, zos));
-        }
-        log.info("ZIP file created: {}", zipPath);
-    }
-
-    /**
-     * Zips a single file into the ZIP output stream.
-     *
-     * @param sourceDir The source directory.
-     * @param filePath  The file to zip.
-     * @param zos       The ZIP output stream.
-     * @throws ServiceException If zipping fails.
-     */
-    private void zipFile(Path sourceDir, Path filePath, ZipOutputStream zos) {
+        Timer.Sample sample = generationMetrics.start();
+        boolean success = false;
         try {
-            ZipEntry zipEntry = new ZipEntry(sourceDir.relativize(filePath).toString());
-            zos.putNextEntry(zipEntry);
-            Files.copy(filePath, zos);
-            zos.closeEntry();
-            log.debug("Zipped file: {}", filePath);
-        } catch (IOException e) {
-            log.error("Failed to zip file: {}", filePath, e);
-            throw new ServiceException("Failed to zip file: " + filePath.getFileName(), e);
+            zipPackager.zip(sourceDir, files, zipPath);
+            success = true;
+        } finally {
+            generationMetrics.stop(sample, GenerationMetrics.STAGE_ZIP, null, success);
         }
+        log.info("ZIP file created: {}", zipPath);
     }
 
     /**
-     * Deletes a directory and its contents, including the specific CRUD component file.
+     * Deletes a directory and its contents. Published components are left in place and replaced on
+     * the next publish.
      *
      * @param directory The directory to delete.
      */
     public void deleteDirectory(File directory) {
-        Path crudFile = Paths.get(generatedComponentsPath, "MJBCrud.jsx");
-        if (Files.exists(crudFile)) {
-            try {
-                Files.delete(crudFile);
-                log.info("Deleted MJBCrud.jsx from components directory");
-            } catch (IOException e) {
-                log.error("Failed to delete MJBCrud.jsx from components directory", e);
-            }
-        }
-
         if (!directory.exists()) return;
 
         File[] files = directory.listFiles();
@@ -341,6 +511,8 @@ public class ReactCodeGenService {
                     "@hookform/resolvers": "^3.1.0",
                     "yup": "^1.2.0",
                     "lodash": "^4.17.21",
+                    "react-window": "^1.8.10",
+                    "axios": "^1.6.0",
                     "dompurify": "^3.0.5",
                     "prop-types": "^15.8.1",
                     "@fontsource/roboto": "^5.0.0",
@@ -0,0 +1,197 @@
+package com.codegen.service;
+
+import com.codegen.exception.RapidControllerException;
+import com.codegen.exception.ServiceException;
+import com.codegen.exception.TooManyRequestsException;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Collapses identical requests into a single execution.
+ * <p>
+ * Requests are keyed by a client-supplied idempotency key, or else by a SHA-256 of their canonical
+ * JSON (properties and map entries sorted). A request whose key is already running waits for that run
+ * and shares its result; one whose key completed within {@code codegen.idempotency.replay-window-seconds}
+ * gets the stored result without running again. Failed runs are not kept, so a retry runs afresh.
+ * Requests that must not be answered from an earlier run's result, such as an explicit regeneration,
+ * are only replayed under a client-supplied key. A duplicate waits at most
+ * {@code codegen.idempotency.max-wait-ms} for the run it joined and is then answered with 429.
+ */
+@Slf4j
+@Component
+public class RequestDeduplicator {
+
+    /**
+     * A result and whether it came from another request's run.
+     */
+    public record Outcome<T>(T value, boolean shared) {
+    }
+
+    private static final class Flight {
+
+        private final String payloadHash;
+        private final CompletableFuture<Object> result = new CompletableFuture<>();
+        private volatile long completedAt;
+
+        Flight(String payloadHash) {
+            this.payloadHash = payloadHash;
+        }
+    }
+
+    private final ObjectMapper canonicalMapper = JsonMapper.builder()
+            .enable(MapperFeature.SORT_PROPERTIES_ALPHABETICALLY)
+            .enable(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS)
+            .build();
+
+    // Insertion-ordered, so the oldest runs are checked for expiry first
+    private final Map<String, Flight> flights = new LinkedHashMap<>();
+
+    private final Counter executed;
+    private final Counter joined;
+    private final Counter replayed;
+    private final Counter timedOut;
+
+    @Value("${codegen.idempotency.replay-window-seconds:300}")
+    private long replayWindowSeconds;
+
+    @Value("${codegen.idempotency.max-entries:1000}")
+    private int maxEntries;
+
+    @Value("${codegen.idempotency.max-wait-ms:60000}")
+    private long maxWaitMs;
+
+    @Value("${codegen.idempotency.retry-after-seconds:10}")
+    private long retryAfterSeconds;
+
+    public RequestDeduplicator(MeterRegistry meterRegistry) {
+        executed = counter(meterRegistry, "executed");
+        joined = counter(meterRegistry, "joined");
+        replayed = counter(meterRegistry, "replayed");
+        timedOut = counter(meterRegistry, "timed_out");
+    }
+
+    /**
+     * Runs the action unless an identical request is running or recently completed.
+     *
+     * @param operation      Namespaces the key, e.g. the endpoint name.
+     * @param idempotencyKey The client's key, or {@code null} to key by the payload alone.
+     * @param payload        The request body; its canonical hash identifies the request.
+     * @param replayable     Whether a completed run keyed by the payload alone may answer later requests;
+     *                       when {@code false}, such a request only shares a run that is still in flight.
+     * @param action         The work to run at most once per key.
+     * @throws RapidControllerException If the idempotency key was already used with a different payload.
+     * @throws TooManyRequestsException If the shared run does not complete within the maximum wait.
+     */
+    public <T> Outcome<T> execute(String operation, String idempotencyKey, Object payload, boolean replayable,
+                                  Supplier<T> action) {
+        String payloadHash = canonicalHash(payload);
+        boolean keyed = idempotencyKey != null && !idempotencyKey.isBlank();
+        String key = operation + ":" + (keyed ? "key:" + idempotencyKey.trim() : "payload:" + payloadHash);
+
+        Flight flight = new Flight(payloadHash);
+        Flight existing;
+        synchronized (flights) {
+            evictExpired();
+            existing = flights.putIfAbsent(key, flight);
+        }
+
+        if (existing != null) {
+            if (!existing.payloadHash.equals(payloadHash)) {
+                throw new RapidControllerException("Idempotency key was already used for a different request");
+            }
+            (existing.completedAt > 0 ? replayed : joined).increment();
+            log.info("Sharing the {} result of {} with a duplicate request", existing.completedAt > 0 ? "stored" : "in-flight", key);
+            return new Outcome<>(await(existing), true);
+        }
+
+        executed.increment();
+        try {
+            T value = action.get();
+            if (!keyed && !replayable) {
+                synchronized (flights) {
+                    flights.remove(key, flight);
+                }
+            }
+            flight.completedAt = System.currentTimeMillis();
+            flight.result.complete(value);
+            return new Outcome<>(value, false);
+        } catch (RuntimeException | Error e) {
+            synchronized (flights) {
+                flights.remove(key, flight);
+            }
+            flight.result.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    String canonicalHash(Object payload) {
+        try {
+            byte[] json = canonicalMapper.writeValueAsBytes(payload);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new ServiceException("Failed to hash request payload", e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T await(Flight flight) {
+        try {
+            // A copy, so timing out this waiter leaves the run's own result untouched
+            return (T) flight.result.copy().orTimeout(maxWaitMs, TimeUnit.MILLISECONDS).join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof TimeoutException) {
+                timedOut.increment();
+                throw new TooManyRequestsException("Timed out waiting for an identical request to complete, try again later",
+                        retryAfterSeconds);
+            }
+            // The duplicate fails the same way the original did
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private void evictExpired() {
+        long expiredBefore = System.currentTimeMillis() - replayWindowSeconds * 1000;
+        int completedOverLimit = flights.size() - maxEntries;
+        Iterator<Flight> it = flights.values().iterator();
+        while (it.hasNext()) {
+            Flight flight = it.next();
+            if (flight.completedAt == 0) {
+                continue;
+            }
+            if (flight.completedAt < expiredBefore || completedOverLimit > 0) {
+                it.remove();
+                completedOverLimit--;
+            }
+        }
+    }
+
+    private static Counter counter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder("codegen.dedup.requests")
+                .description("Requests by whether they ran or shared another request's result")
+                .tag("outcome", outcome)
+                .register(meterRegistry);
+    }
+}
@@ -0,0 +1,146 @@
+package com.codegen.service;
+
+import com.codegen.model.GeneratorInput;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.util.Locale;
+import java.util.Map;
+
+import static java.util.Map.entry;
+
+/**
+ * The one mapping between MySQL column types, generated Java field types, DDL column types and
+ * default UI input types.
+ * <p>
+ * Sizes are kept rather than widened: a {@code String} becomes {@code VARCHAR(length)} (or a TEXT type
+ * once the length no longer fits in a row), a {@code BigDecimal} becomes {@code DECIMAL(precision,scale)}
+ * and a {@code Boolean} a {@code TINYINT(1)}. Fields without a size get the JPA defaults, so the DDL
+ * and the {@code @Column} attributes of the generated entity always agree.
+ */
+@Slf4j
+@Component
+public class TypeMappingRegistry {
+
+    public static final int DEFAULT_LENGTH = 255;
+    public static final int DEFAULT_PRECISION = 19;
+    public static final int DEFAULT_SCALE = 2;
+
+    // MySQL limits: utf8mb4 VARCHAR (65,535-byte row / 4 bytes per char), TEXT and MEDIUMTEXT, DECIMAL
+    private static final int MAX_VARCHAR_LENGTH = 16_383;
+    private static final int MAX_MEDIUMTEXT_LENGTH = 4_194_303;
+    private static final int MAX_PRECISION = 65;
+    private static final int MAX_SCALE = 30;
+
+    private static final String DEFAULT_JAVA_TYPE = "String";
+    private static final String DEFAULT_UI_TYPE = "textbox";
+
+    private static final Map<String, String> JAVA_TYPES_BY_DB_TYPE = Map.ofEntries(
+            entry("varchar", "String"), entry("char", "String"), entry("tinytext", "String"),
+            entry("text", "String"), entry("mediumtext", "String"), entry("longtext", "String"),
+            entry("enum", "String"), entry("set", "String"), entry("json", "String"),
+            entry("tinyint", "Boolean"), entry("bit", "Boolean"), entry("boolean", "Boolean"),
+            entry("smallint", "Integer"), entry("mediumint", "Integer"), entry("int", "Integer"),
+            entry("integer", "Integer"), entry("year", "Integer"),
+            entry("bigint", "Long"),
+            entry("decimal", "BigDecimal"), entry("numeric", "BigDecimal"),
+            entry("float", "Float"), entry("double", "Double"), entry("real", "Double"),
+            entry("date", "LocalDate"),
+            entry("datetime", "LocalDateTime"), entry("timestamp", "LocalDateTime"),
+            entry("time", "Time"));
+
+    // Java types whose column has a fixed size; String and BigDecimal are sized per field
+    private static final Map<String, String> SQL_TYPES_BY_JAVA_TYPE = Map.ofEntries(
+            entry("boolean", "TINYINT(1)"),
+            entry("byte", "TINYINT"),
+            entry("short", "SMALLINT"),
+            entry("int", "INT"), entry("integer", "INT"),
+            entry("long", "BIGINT"),
+            entry("float", "FLOAT"),
+            entry("double", "DOUBLE"),
+            entry("date", "DATE"), entry("localdate", "DATE"),
+            entry("localdatetime", "DATETIME(6)"), entry("timestamp", "DATETIME(6)"),
+            entry("time", "TIME"), entry("localtime", "TIME"),
+            entry("uuid", "BINARY(16)"));
+
+    private static final Map<String, String> UI_TYPES_BY_JAVA_TYPE = Map.of(
+            "localdate", "date",
+            "date", "date");
+
+    /**
+     * Maps an {@code information_schema.columns} type to the Java type of the generated field.
+     *
+     * @param dbType     The {@code data_type}, e.g. {@code tinyint}.
+     * @param columnType The {@code column_type}, e.g. {@code tinyint(1)}; only {@code TINYINT(1)} and
+     *                   {@code BIT(1)} are booleans, other widths are numbers. May be {@code null}.
+     */
+    public String toJavaType(String dbType, String columnType) {
+        String javaType = dbType == null ? null : JAVA_TYPES_BY_DB_TYPE.get(dbType.toLowerCase(Locale.ROOT));
+        if (javaType == null) {
+            log.warn("Unknown database type: {}, defaulting to {}", dbType, DEFAULT_JAVA_TYPE);
+            return DEFAULT_JAVA_TYPE;
+        }
+        if (javaType.equals("Boolean") && columnType != null
+                && !columnType.toLowerCase(Locale.ROOT).matches("(tinyint|bit)\\(1\\).*")) {
+            return dbType.equalsIgnoreCase("bit") ? "Long" : "Integer";
+        }
+        return javaType;
+    }
+
+    /**
+     * Returns a copy of the field with the column size its type needs filled in: a length for strings,
+     * a precision and scale for decimals, clamped to what MySQL accepts. Other types carry no size.
+     */
+    public GeneratorInput.Field withColumnSize(GeneratorInput.Field field) {
+        Integer length = null;
+        Integer precision = null;
+        Integer scale = null;
+        if (isString(field.getType())) {
+            length = field.getLength() != null && field.getLength() > 0 ? field.getLength() : DEFAULT_LENGTH;
+        } else if (isDecimal(field.getType())) {
+            precision = field.getPrecision() != null && field.getPrecision() > 0
+                    ? Math.min(field.getPrecision(), MAX_PRECISION)
+                    : DEFAULT_PRECISION;
+            scale = field.getScale() != null && field.getScale() >= 0 ? field.getScale() : DEFAULT_SCALE;
+            scale = Math.min(scale, Math.min(precision, MAX_SCALE));
+        }
+        return new GeneratorInput.Field(field.getName(), field.getType(), field.getPrimary(), field.getUiType(),
+                field.getNumOptions(), field.getOptionValues(), length, precision, scale);
+    }
+
+    /**
+     * Maps a field to its MySQL column type, e.g. {@code VARCHAR(80)}, {@code DECIMAL(10,2)} or {@code BIGINT}.
+     * Unknown types fall back to a {@code VARCHAR} of the field's length.
+     */
+    public String toSqlType(GeneratorInput.Field field) {
+        GeneratorInput.Field sized = withColumnSize(field);
+        if (isDecimal(field.getType())) {
+            return "DECIMAL(" + sized.getPrecision() + "," + sized.getScale() + ")";
+        }
+        String sqlType = field.getType() == null ? null : SQL_TYPES_BY_JAVA_TYPE.get(field.getType().toLowerCase(Locale.ROOT));
+        if (sqlType != null) {
+            return sqlType;
+        }
+        int length = sized.getLength() != null ? sized.getLength() : DEFAULT_LENGTH;
+        if (length <= MAX_VARCHAR_LENGTH) {
+            return "VARCHAR(" + length + ")";
+        }
+        return length <= MAX_MEDIUMTEXT_LENGTH ? "MEDIUMTEXT" : "LONGTEXT";
+    }
+
+    /**
+     * The UI input a field of this Java type gets when the request does not name one.
+     */
+    public String defaultUiType(String javaType) {
+        return javaType == null ? DEFAULT_UI_TYPE
+                : UI_TYPES_BY_JAVA_TYPE.getOrDefault(javaType.toLowerCase(Locale.ROOT), DEFAULT_UI_TYPE);
+    }
+
+    private static boolean isString(String javaType) {
+        return javaType == null || javaType.equalsIgnoreCase("String");
+    }
+
+    private static boolean isDecimal(String javaType) {
+        return javaType != null && javaType.equalsIgnoreCase("BigDecimal");
+    }
+}
@@ -0,0 +1,130 @@
+package com.codegen.service;
+
+import com.codegen.exception.ServiceException;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.compress.archivers.zip.ParallelScatterZipCreator;
+import org.apache.commons.compress.archivers.zip.ZipArchiveEntry;
+import org.apache.commons.compress.archivers.zip.ZipArchiveOutputStream;
+import org.apache.commons.compress.parallel.ScatterGatherBackingStore;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.zip.ZipEntry;
+
+/**
+ * Writes ZIP archives with entries deflated in parallel.
+ * <p>
+ * Each worker deflates into its own in-memory buffer; the compressed entries are then copied into the
+ * archive in the order they were added, so the output does not depend on thread scheduling. Files that
+ * are already compressed (archives, images, fonts) are stored as-is.
+ */
+@Slf4j
+@Component
+public class ZipPackager {
+
+    private static final Set<String> STORED_EXTENSIONS = Set.of(
+            "jar", "war", "zip", "gz", "tgz", "bz2", "xz", "7z",
+            "png", "jpg", "jpeg", "gif", "webp", "ico", "woff", "woff2", "mp4", "pdf");
+
+    @Value("${codegen.zip.compression-level:6}")
+    private int compressionLevel;
+
+    // 0 uses one worker per available core
+    @Value("${codegen.zip.parallelism:0}")
+    private int parallelism;
+
+    /**
+     * Archives the given files under their paths relative to {@code sourceDir}.
+     *
+     * @param sourceDir The directory entry names are relative to.
+     * @param files     The regular files to add, in archive order.
+     * @param zipPath   The archive to create or overwrite.
+     */
+    public void zip(Path sourceDir, List<Path> files, Path zipPath) throws IOException {
+        ParallelScatterZipCreator creator = new ParallelScatterZipCreator(newExecutor(files.size()),
+                InMemoryBackingStore::new, compressionLevel);
+
+        for (Path file : files) {
+            ZipArchiveEntry entry = new ZipArchiveEntry(file.toFile(),
+                    sourceDir.relativize(file).toString().replace('\\', '/'));
+            entry.setMethod(isCompressed(file) ? ZipEntry.STORED : ZipEntry.DEFLATED);
+            creator.addArchiveEntry(entry, () -> open(file));
+        }
+
+        try (ZipArchiveOutputStream out = new ZipArchiveOutputStream(zipPath)) {
+            creator.writeTo(out);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServiceException("Interrupted while creating ZIP file: " + zipPath, e);
+        } catch (ExecutionException e) {
+            throw new ServiceException("Failed to compress entries of ZIP file: " + zipPath, e.getCause());
+        }
+        log.debug("Zipped {} files into {}: {}", files.size(), zipPath, creator.getStatisticsMessage());
+    }
+
+    private ExecutorService newExecutor(int fileCount) {
+        int threads = parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors();
+        threads = Math.max(1, Math.min(threads, fileCount));
+        AtomicInteger threadCount = new AtomicInteger();
+        // ParallelScatterZipCreator shuts the executor down once the archive is written
+        return Executors.newFixedThreadPool(threads, runnable -> {
+            Thread thread = new Thread(runnable, "zip-deflate-" + threadCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    private boolean isCompressed(Path file) {
+        String name = file.getFileName().toString();
+        int dot = name.lastIndexOf('.');
+        return dot >= 0 && STORED_EXTENSIONS.contains(name.substring(dot + 1).toLowerCase(Locale.ROOT));
+    }
+
+    private InputStream open(Path file) {
+        try {
+            return Files.newInputStream(file);
+        } catch (IOException e) {
+            throw new ServiceException("Failed to zip file: " + file.getFileName(), e);
+        }
+    }
+
+    /**
+     * Keeps a worker's compressed entries in memory; generated projects are small enough that
+     * temporary files would only add disk I/O.
+     */
+    private static final class InMemoryBackingStore implements ScatterGatherBackingStore {
+
+        private final ByteArrayOutputStream buffer = new ByteArrayOutputStream();
+
+        @Override
+        public InputStream getInputStream() {
+            return new ByteArrayInputStream(buffer.toByteArray());
+        }
+
+        @Override
+        public void writeOut(byte[] data, int offset, int length) {
+            buffer.write(data, offset, length);
+        }
+
+        @Override
+        public void closeForWriting() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
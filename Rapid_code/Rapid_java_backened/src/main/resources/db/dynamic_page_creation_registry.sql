@@ -0,0 +1,11 @@
+-- Generation registry columns on dynamic_page_creation (spring.jpa.hibernate.ddl-auto=none, so run once by hand).
+-- tableName and routePath keep their unique indexes; lookups by input hash and by latest generation are indexed here.
+ALTER TABLE dynamic_page_creation
+    ADD COLUMN input_hash       VARCHAR(64)  NULL,
+    ADD COLUMN artifact_path    VARCHAR(255) NULL,
+    ADD COLUMN template_version VARCHAR(64)  NULL,
+    ADD COLUMN duration_ms      BIGINT       NULL,
+    ADD COLUMN generated_at     DATETIME(6)  NULL;
+
+CREATE INDEX idx_dynamic_page_input_hash ON dynamic_page_creation (input_hash, template_version);
+CREATE INDEX idx_dynamic_page_generated_at ON dynamic_page_creation (generated_at);
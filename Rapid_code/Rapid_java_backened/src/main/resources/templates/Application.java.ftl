@@ -1,11 +1,27 @@
+<#assign metrics = metricsEnabled!false>
 package ${basePackage};
 
+<#if metrics>
+import io.micrometer.core.aop.TimedAspect;
+import io.micrometer.core.instrument.MeterRegistry;
+</#if>
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+<#if metrics>
+import org.springframework.context.annotation.Bean;
+</#if>
 
 @SpringBootApplication
 public class Application {
     public static void main(String[] args) {
         SpringApplication.run(Application.class, args);
     }
+<#if metrics>
+
+    // Enables @Timed on the generated controllers and services
+    @Bean
+    public TimedAspect timedAspect(MeterRegistry registry) {
+        return new TimedAspect(registry);
+    }
+</#if>
 }
@@ -1,8 +1,62 @@
+<#assign production = productionProfile!false>
+<#assign batchSize = (batchFetchSize!50)?c>
 server.port=8081
 spring.application.name=Mohammad-Juned-MJB
+<#if production>
+# ==================== MySQL Configuration ====================
+spring.datasource.url=${r"${DB_URL:jdbc:mysql://localhost:3306/"}${artifactId}${r"}"}
+spring.datasource.username=${r"${DB_USERNAME:root}"}
+spring.datasource.password=${r"${DB_PASSWORD:}"}
+spring.datasource.driver-class-name=com.mysql.cj.jdbc.Driver
+spring.jpa.hibernate.ddl-auto=none
+spring.jpa.open-in-view=false
+
+# Connection Pool (HikariCP) - fixed size pool, fail fast when exhausted
+spring.datasource.hikari.pool-name=${artifactId}Pool
+spring.datasource.hikari.maximum-pool-size=${r"${DB_POOL_SIZE:10}"}
+spring.datasource.hikari.minimum-idle=${r"${DB_POOL_SIZE:10}"}
+spring.datasource.hikari.connection-timeout=3000
+spring.datasource.hikari.idle-timeout=600000
+spring.datasource.hikari.max-lifetime=1800000
+spring.datasource.hikari.data-source-properties.cachePrepStmts=true
+spring.datasource.hikari.data-source-properties.prepStmtCacheSize=250
+spring.datasource.hikari.data-source-properties.prepStmtCacheSqlLimit=2048
+spring.datasource.hikari.data-source-properties.useServerPrepStmts=true
+spring.datasource.hikari.data-source-properties.rewriteBatchedStatements=true
+spring.datasource.hikari.data-source-properties.cacheResultSetMetadata=true
+spring.datasource.hikari.data-source-properties.cacheServerConfiguration=true
+spring.datasource.hikari.data-source-properties.elideSetAutoCommits=true
+spring.datasource.hikari.data-source-properties.maintainTimeStats=false
+
+# Hibernate batching and fetching
+spring.jpa.properties.hibernate.jdbc.batch_size=${batchSize}
+spring.jpa.properties.hibernate.order_inserts=true
+spring.jpa.properties.hibernate.order_updates=true
+spring.jpa.properties.hibernate.jdbc.fetch_size=100
+spring.jpa.properties.hibernate.default_batch_fetch_size=${batchSize}
+spring.jpa.properties.hibernate.query.in_clause_parameter_padding=true
+
+# ==================== Server ====================
+server.compression.enabled=true
+server.compression.mime-types=application/json,application/xml,text/html,text/plain,text/css,application/javascript
+server.compression.min-response-size=1024
+<#if (javaRelease!17) gte 21>
+spring.threads.virtual.enabled=true
+</#if>
+<#else>
 spring.datasource.url=jdbc:h2:mem:testdb
 spring.datasource.driverClassName=org.h2.Driver
 spring.datasource.username=sa
 spring.datasource.password=
 spring.jpa.database-platform=org.hibernate.dialect.H2Dialect
 spring.h2.console.enabled=true
+</#if>
+<#if metricsEnabled!false>
+
+# ==================== Metrics (Actuator / Micrometer) ====================
+management.endpoints.web.exposure.include=health,info,metrics,prometheus
+management.metrics.tags.application=${artifactId}
+management.metrics.distribution.percentiles-histogram.http.server.requests=true
+management.metrics.distribution.slo.http.server.requests=50ms,100ms,250ms,500ms,1s
+spring.jpa.properties.hibernate.generate_statistics=true
+</#if>
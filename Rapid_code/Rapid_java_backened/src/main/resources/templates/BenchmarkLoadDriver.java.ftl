@@ -0,0 +1,103 @@
+<#assign cls = className?substring(className?last_index_of(".") + 1)>
+<#assign clsLower = cls?uncap_first>
+package ${package}.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Closed-loop load driver for the /api/${clsLower} endpoints of a running ${cls} service.
+ *
+ * <p>Usage: {@code java -cp benchmarks.jar ${package}.benchmarks.${cls}LoadDriver [baseUrl] [threads] [seconds] [writePercent]}
+ */
+public class ${cls}LoadDriver {
+
+    public static void main(String[] args) throws Exception {
+        String baseUrl = args.length > 0 ? args[0] : "http://localhost:8081";
+        int threads = args.length > 1 ? Integer.parseInt(args[1]) : 8;
+        int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+        int writePercent = args.length > 3 ? Integer.parseInt(args[3]) : 20;
+
+        String apiUrl = baseUrl + "/api/${clsLower}";
+        HttpClient client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        ObjectMapper objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        AtomicInteger sequence = new AtomicInteger();
+        AtomicInteger errors = new AtomicInteger();
+        long deadline = System.nanoTime() + Duration.ofSeconds(seconds).toNanos();
+
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Future<long[]>> workers = new ArrayList<>(threads);
+        for (int t = 0; t < threads; t++) {
+            workers.add(executor.submit(() -> {
+                long[] latencies = new long[1024];
+                int count = 0;
+                while (System.nanoTime() < deadline) {
+                    HttpRequest request;
+                    if (ThreadLocalRandom.current().nextInt(100) < writePercent) {
+                        byte[] body = objectMapper.writeValueAsBytes(${cls}Samples.sample(sequence.incrementAndGet()));
+                        request = HttpRequest.newBuilder(URI.create(apiUrl + "/create"))
+                                .header("Content-Type", "application/json")
+                                .POST(HttpRequest.BodyPublishers.ofByteArray(body))
+                                .build();
+                    } else {
+                        request = HttpRequest.newBuilder(URI.create(apiUrl + "/all")).GET().build();
+                    }
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                    if (count == latencies.length) {
+                        latencies = Arrays.copyOf(latencies, count * 2);
+                    }
+                    latencies[count++] = System.nanoTime() - start;
+                }
+                return Arrays.copyOf(latencies, count);
+            }));
+        }
+
+        long[] all = new long[0];
+        for (Future<long[]> worker : workers) {
+            long[] latencies = worker.get();
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + latencies.length);
+            System.arraycopy(latencies, 0, all, offset, latencies.length);
+        }
+        executor.shutdown();
+        Arrays.sort(all);
+
+        System.out.printf("requests=%d errors=%d throughput=%.1f req/s%n",
+                all.length, errors.get(), all.length / (double) seconds);
+        if (all.length > 0) {
+            System.out.printf("latency ms: p50=%.2f p90=%.2f p99=%.2f max=%.2f%n",
+                    percentile(all, 0.50), percentile(all, 0.90), percentile(all, 0.99), all[all.length - 1] / 1e6);
+        }
+    }
+
+    private static double percentile(long[] sorted, double p) {
+        int index = (int) Math.ceil(p * sorted.length) - 1;
+        return sorted[Math.max(0, index)] / 1e6;
+    }
+}
@@ -0,0 +1,87 @@
+<#assign cls = className?substring(className?last_index_of(".") + 1)>
+package ${package}.benchmarks;
+
+import ${className};
+import ${basePackage}.Application;
+import ${package}.repository.${cls}Repository;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures ${cls}Repository operations against an embedded H2 database.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ${cls}RepositoryBenchmark {
+
+    @Param({"100", "1000"})
+    public int rows;
+
+    private ConfigurableApplicationContext context;
+    private ${cls}Repository repository;
+    private List<Long> ids;
+    private int nextSample;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(Application.class)
+                .web(WebApplicationType.NONE)
+                .properties(
+                        "spring.datasource.url=jdbc:h2:mem:benchmark;DB_CLOSE_DELAY=-1",
+                        "spring.datasource.driverClassName=org.h2.Driver",
+                        "spring.datasource.username=sa",
+                        "spring.datasource.password=",
+                        "spring.jpa.hibernate.ddl-auto=create-drop",
+                        "spring.jpa.open-in-view=false",
+                        "logging.level.root=WARN")
+                .run();
+        repository = context.getBean(${cls}Repository.class);
+
+        List<${cls}> seed = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            seed.add(${cls}Samples.sample(i));
+        }
+        ids = new ArrayList<>(rows);
+        for (${cls} saved : repository.saveAll(seed)) {
+            ids.add(saved.get${primaryKey?cap_first}());
+        }
+        nextSample = rows;
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    @Benchmark
+    public List<${cls}> findAll() {
+        return repository.findAll();
+    }
+
+    @Benchmark
+    public Optional<${cls}> findById() {
+        return repository.findById(ids.get(ThreadLocalRandom.current().nextInt(ids.size())));
+    }
+
+    @Benchmark
+    public long count() {
+        return repository.count();
+    }
+
+    @Benchmark
+    public ${cls} save() {
+        return repository.save(${cls}Samples.sample(nextSample++));
+    }
+}
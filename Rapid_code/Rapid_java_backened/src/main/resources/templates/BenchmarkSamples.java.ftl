@@ -0,0 +1,72 @@
+<#assign cls = className?substring(className?last_index_of(".") + 1)>
+package ${package}.benchmarks;
+
+import ${className};
+<#list fields as field>
+    <#if field.type == "BigDecimal">
+import java.math.BigDecimal;
+    <#elseif field.type == "LocalDate">
+import java.time.LocalDate;
+    <#elseif field.type == "LocalDateTime">
+import java.time.LocalDateTime;
+    <#elseif field.type == "UUID">
+import java.util.UUID;
+    </#if>
+</#list>
+
+/**
+ * Builds deterministic ${cls} instances for the benchmarks and the load driver.
+ */
+public final class ${cls}Samples {
+
+    private ${cls}Samples() {
+    }
+
+    public static ${cls} sample(int i) {
+        ${cls} entity = new ${cls}();
+<#list fields as field>
+    <#if !(field.primary?? && field.primary)>
+        <#switch field.type>
+            <#case "String">
+        entity.set${field.name?cap_first}("${field.name}-" + i);
+                <#break>
+            <#case "Integer">
+            <#case "int">
+        entity.set${field.name?cap_first}(i);
+                <#break>
+            <#case "Long">
+            <#case "long">
+        entity.set${field.name?cap_first}((long) i);
+                <#break>
+            <#case "Double">
+            <#case "double">
+        entity.set${field.name?cap_first}(i * 1.5d);
+                <#break>
+            <#case "Float">
+            <#case "float">
+        entity.set${field.name?cap_first}(i * 1.5f);
+                <#break>
+            <#case "Boolean">
+            <#case "boolean">
+        entity.set${field.name?cap_first}(i % 2 == 0);
+                <#break>
+            <#case "BigDecimal">
+        entity.set${field.name?cap_first}(BigDecimal.valueOf(i, 2));
+                <#break>
+            <#case "LocalDate">
+        entity.set${field.name?cap_first}(LocalDate.of(2024, 1, 1).plusDays(i % 365));
+                <#break>
+            <#case "LocalDateTime">
+        entity.set${field.name?cap_first}(LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(i));
+                <#break>
+            <#case "UUID">
+        entity.set${field.name?cap_first}(UUID.nameUUIDFromBytes(Integer.toString(i).getBytes()));
+                <#break>
+            <#default>
+        // ${field.name} (${field.type}) is left unset
+        </#switch>
+    </#if>
+</#list>
+        return entity;
+    }
+}
@@ -0,0 +1,56 @@
+<#assign cls = className?substring(className?last_index_of(".") + 1)>
+package ${package}.benchmarks;
+
+import ${className};
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the JSON cost of the payloads served by ${cls}Controller.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ${cls}SerializationBenchmark {
+
+    private static final TypeReference<List<${cls}>> LIST_TYPE = new TypeReference<>() {
+    };
+
+    @Param({"1", "100", "1000"})
+    public int rows;
+
+    private ObjectMapper objectMapper;
+    private List<${cls}> entities;
+    private byte[] json;
+
+    @Setup(Level.Trial)
+    public void setUp() throws Exception {
+        objectMapper = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        entities = new ArrayList<>(rows);
+        for (int i = 0; i < rows; i++) {
+            entities.add(${cls}Samples.sample(i));
+        }
+        json = objectMapper.writeValueAsBytes(entities);
+    }
+
+    @Benchmark
+    public byte[] serializeList() throws Exception {
+        return objectMapper.writeValueAsBytes(entities);
+    }
+
+    @Benchmark
+    public List<${cls}> deserializeList() throws Exception {
+        return objectMapper.readValue(json, LIST_TYPE);
+    }
+}
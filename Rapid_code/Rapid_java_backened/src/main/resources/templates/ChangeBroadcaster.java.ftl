@@ -0,0 +1,232 @@
+package ${basePackage}.events;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.annotation.PreDestroy;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * In-process fan-out of entity changes to Server-Sent Events clients.
+ * <p>
+ * Every change gets an increasing id and is kept in a bounded per-topic history, so a client that
+ * reconnects with {@code Last-Event-ID} receives only what it missed. Each client has a bounded buffer
+ * drained by a small sender pool; publishers never wait on a slow client. A client whose buffer
+ * overflows, or whose last id is no longer in the history, is sent a {@code reset} event and should
+ * reload its data.
+ */
+@Component
+public class ChangeBroadcaster {
+
+    public static final String CHANGE_EVENT = "change";
+    public static final String RESET_EVENT = "reset";
+
+    private record Change(long id, String data) {
+    }
+
+    private final ObjectMapper objectMapper;
+
+    // Seeded from the clock so ids keep increasing across restarts and ids from before one are detected
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final Map<String, Topic> topics = new ConcurrentHashMap<>();
+    private final ScheduledExecutorService senders;
+
+    @Value("${r"${app.events.history-size:1000}"}")
+    private int historySize;
+
+    @Value("${r"${app.events.client-buffer:256}"}")
+    private int clientBuffer;
+
+    @Value("${r"${app.events.timeout-ms:1800000}"}")
+    private long timeoutMs;
+
+    public ChangeBroadcaster(ObjectMapper objectMapper,
+                             @Value("${r"${app.events.sender-threads:2}"}") int senderThreads) {
+        this.objectMapper = objectMapper;
+        this.senders = Executors.newScheduledThreadPool(senderThreads, runnable -> {
+            Thread thread = new Thread(runnable, "change-events");
+            thread.setDaemon(true);
+            return thread;
+        });
+        // Comments keep idle connections open through proxies and reveal disconnected clients
+        senders.scheduleAtFixedRate(this::heartbeat, 15, 15, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Opens a stream of the changes published to the topic.
+     *
+     * @param topicName   The topic, one per entity.
+     * @param lastEventId The last id the client received, or {@code null} on a first connect.
+     */
+    public SseEmitter subscribe(String topicName, Long lastEventId) {
+        Topic topic = topic(topicName);
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Client client = new Client(emitter, clientBuffer);
+        emitter.onCompletion(() -> close(topic, client));
+        emitter.onTimeout(() -> close(topic, client));
+        emitter.onError(error -> close(topic, client));
+
+        synchronized (topic) {
+            if (lastEventId != null) {
+                if (lastEventId < topic.evictedThrough || lastEventId > sequence.get()) {
+                    client.reset = true;
+                } else {
+                    topic.history.stream()
+                            .filter(change -> change.id() > lastEventId)
+                            .forEach(client.buffer::offer);
+                }
+            }
+            // Registered under the topic lock so no change falls between the replay and the live feed
+            topic.clients.add(client);
+        }
+        schedule(client);
+        return emitter;
+    }
+
+    /**
+     * Publishes a change to the topic's subscribers, after the surrounding transaction commits if there is one.
+     *
+     * @param topicName The topic, one per entity.
+     * @param type      The change type: {@code upsert}, {@code delete} or {@code clear}.
+     * @param payload   The changed entity, id or count; serialized immediately.
+     */
+    public void publish(String topicName, String type, Object payload) {
+        String data;
+        try {
+            data = objectMapper.writeValueAsString(Map.of("type", type, "payload", payload));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Change payload is not serializable: " + type, e);
+        }
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    dispatch(topic(topicName), data);
+                }
+            });
+        } else {
+            dispatch(topic(topicName), data);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        senders.shutdownNow();
+        topics.values().forEach(topic -> topic.clients.forEach(client -> client.emitter.complete()));
+    }
+
+    private void dispatch(Topic topic, String data) {
+        synchronized (topic) {
+            Change change = new Change(sequence.incrementAndGet(), data);
+            topic.history.addLast(change);
+            while (topic.history.size() > historySize) {
+                topic.evictedThrough = topic.history.removeFirst().id();
+            }
+            for (Client client : topic.clients) {
+                if (!client.buffer.offer(change)) {
+                    client.reset = true;
+                }
+            }
+        }
+        topic.clients.forEach(this::schedule);
+    }
+
+    private Topic topic(String name) {
+        return topics.computeIfAbsent(name, key -> new Topic(sequence.get()));
+    }
+
+    private void close(Topic topic, Client client) {
+        client.closed = true;
+        topic.clients.remove(client);
+    }
+
+    private void schedule(Client client) {
+        if (!client.closed && client.scheduled.compareAndSet(false, true)) {
+            senders.execute(() -> drain(client));
+        }
+    }
+
+    private void drain(Client client) {
+        try {
+            if (client.reset) {
+                // The client missed changes it can no longer be sent, so it reloads and reconnects
+                client.closed = true;
+                client.emitter.send(SseEmitter.event().name(RESET_EVENT).data(""));
+                client.emitter.complete();
+                return;
+            }
+            Change change;
+            while ((change = client.buffer.poll()) != null) {
+                client.emitter.send(SseEmitter.event()
+                        .id(Long.toString(change.id()))
+                        .name(CHANGE_EVENT)
+                        .data(change.data()));
+            }
+        } catch (IOException | IllegalStateException e) {
+            client.closed = true;
+            client.emitter.completeWithError(e);
+        } finally {
+            client.scheduled.set(false);
+        }
+        // A change offered while the flag was still set would otherwise wait for the next publish
+        if (!client.buffer.isEmpty() || client.reset) {
+            schedule(client);
+        }
+    }
+
+    private void heartbeat() {
+        topics.values().forEach(topic -> topic.clients.forEach(client -> {
+            try {
+                client.emitter.send(SseEmitter.event().comment("heartbeat"));
+            } catch (IOException | IllegalStateException e) {
+                client.closed = true;
+                client.emitter.completeWithError(e);
+            }
+        }));
+    }
+
+    private static final class Topic {
+
+        // Guarded by the topic's monitor; ids up to evictedThrough can no longer be replayed
+        private final Deque<Change> history = new ArrayDeque<>();
+        private long evictedThrough;
+
+        private final Set<Client> clients = new CopyOnWriteArraySet<>();
+
+        Topic(long createdAt) {
+            this.evictedThrough = createdAt;
+        }
+    }
+
+    private static final class Client {
+
+        private final SseEmitter emitter;
+        private final Queue<Change> buffer;
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile boolean reset;
+        private volatile boolean closed;
+
+        Client(SseEmitter emitter, int capacity) {
+            this.emitter = emitter;
+            this.buffer = new ArrayBlockingQueue<>(capacity);
+        }
+    }
+}
@@ -6,19 +6,30 @@ package ${package}.controller;
 
 import ${className};
 import ${servicePackage}.${cls}Service;
+import ${package}.events.ChangeBroadcaster;
 import org.springframework.web.bind.annotation.*;
 import java.util.List;
 import java.util.Optional;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+<#if metricsEnabled!false>
+import io.micrometer.core.annotation.Timed;
+</#if>
 
 @RestController
 @RequestMapping("/api/${clsLower}")
+<#if metricsEnabled!false>
+@Timed(value = "${clsLower}.api", histogram = true)
+</#if>
 public class ${cls}Controller {
 
     private final ${cls}Service ${clsLower}Service;
+    private final ChangeBroadcaster changeBroadcaster;
 
-    public ${cls}Controller(${cls}Service ${clsLower}Service) {
+    public ${cls}Controller(${cls}Service ${clsLower}Service, ChangeBroadcaster changeBroadcaster) {
         this.${clsLower}Service = ${clsLower}Service;
+        this.changeBroadcaster = changeBroadcaster;
     }
 
 @GetMapping("/hello")
@@ -31,6 +42,20 @@ public ResponseEntity<String> sayHello() {
         return ${clsLower}Service.getAll${cls}();
     }
 
+    @GetMapping("/search")
+    public List<${cls}> search(@RequestParam(name = "q", defaultValue = "") String query,
+                               @RequestParam(name = "limit", defaultValue = "100") int limit) {
+        return ${clsLower}Service.search(query, limit);
+    }
+
+    /**
+     * Streams creates, updates and deletes as they are committed; reconnecting clients resume from Last-Event-ID.
+     */
+    @GetMapping(path = "/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter events(@RequestHeader(name = "Last-Event-ID", required = false) Long lastEventId) {
+        return changeBroadcaster.subscribe(${cls}Service.CHANGE_TOPIC, lastEventId);
+    }
+
     @PostMapping("/create")
     public ${cls} create(@RequestBody ${cls} ${clsLower}) {
         return ${clsLower}Service.save(${clsLower});
@@ -41,13 +66,20 @@ public ResponseEntity<String> sayHello() {
         return ${clsLower}Service.findById(id);
     }
 
+    /**
+     * @return The deleted id, so clients can drop the row without reloading the list.
+     */
     @DeleteMapping("/delete/{id}")
-    public void deleteById(@PathVariable Long id) {
+    public Long deleteById(@PathVariable Long id) {
         ${clsLower}Service.deleteById(id);
+        return id;
     }
 
+    /**
+     * @return The number of deleted rows.
+     */
     @DeleteMapping("/deleteAll")
-    public void deleteAll() {
-        ${clsLower}Service.deleteAll();
+    public long deleteAll() {
+        return ${clsLower}Service.deleteAll();
     }
 }
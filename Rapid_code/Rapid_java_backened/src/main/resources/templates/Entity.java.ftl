@@ -9,6 +9,7 @@ package ${pkg};
 
 import jakarta.persistence.*;
 import java.io.Serializable;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 
 <#list fields as field>
     <#if field.type == "BigDecimal">
@@ -47,10 +48,15 @@ import java.io.Serializable;
 </#list>
 <#if masterTable?? && relationshipType??>
     import ${pkg}.${masterCls};
+    <#if relationshipType == "OneToMany" || relationshipType == "ManyToMany">
+        import java.util.List;
+        import org.hibernate.annotations.BatchSize;
+    </#if>
 </#if>
 
 @Entity
 @Table(name = "${cls?lower_case}")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
 public class ${cls} implements Serializable {
 
 private static final long serialVersionUID = 1L;
@@ -60,24 +66,26 @@ private static final long serialVersionUID = 1L;
         @Id
         @GeneratedValue(strategy = GenerationType.IDENTITY)
     </#if>
-    @Column(name = "${field.name}")
+    @Column(name = "${field.name}"<#if field.length??>, length = ${field.length?c}</#if><#if field.precision??>, precision = ${field.precision?c}, scale = ${(field.scale!0)?c}</#if>)
     private ${field.type} ${field.name};
 </#list>
 
 <#if masterTable?? && relationshipType??>
     <#if relationshipType == "OneToOne">
-        @OneToOne
+        @OneToOne(fetch = FetchType.LAZY)
         @JoinColumn(name = "${masterFieldName}_id")
         private ${masterCls} ${masterFieldName};
     <#elseif relationshipType == "ManyToOne">
-        @ManyToOne
+        @ManyToOne(fetch = FetchType.LAZY)
         @JoinColumn(name = "${masterFieldName}_id")
         private ${masterCls} ${masterFieldName};
     <#elseif relationshipType == "OneToMany">
-        @OneToMany(mappedBy = "${cls?uncap_first}")
+        @OneToMany(mappedBy = "${cls?uncap_first}", fetch = FetchType.LAZY)
+        @BatchSize(size = ${(batchFetchSize!50)?c})
         private List<${masterCls}> ${masterFieldName}s;
     <#elseif relationshipType == "ManyToMany">
-        @ManyToMany
+        @ManyToMany(fetch = FetchType.LAZY)
+        @BatchSize(size = ${(batchFetchSize!50)?c})
         @JoinTable(
         name = "${cls?lower_case}_${masterFieldName?lower_case}",
         joinColumns = @JoinColumn(name = "${cls?lower_case}_id"),
@@ -151,18 +159,11 @@ StringBuilder sb = new StringBuilder("${cls}[");
 <#list fields as field>
     sb.append("${field.name}=").append(${field.name}).append(", ");
 </#list>
-<#if masterTable?? && relationshipType??>
-    <#if relationshipType == "OneToOne" || relationshipType == "ManyToOne">
-        sb.append("${masterFieldName}=").append(${masterFieldName});
-    <#elseif relationshipType == "OneToMany" || relationshipType == "ManyToMany">
-        sb.append("${masterFieldName}s=").append(${masterFieldName}s);
-    </#if>
-<#else>
-<#-- Remove trailing comma and space if no master table or last field -->
-    if (sb.length() > ${cls?length + 1}) {
-    sb.setLength(sb.length() - 2);
-    }
-</#if>
+<#-- Associations are lazy: printing them would load them (or fail outside a session) and recurse
+     through bidirectional mappings, so only the entity's own columns are included -->
+if (sb.length() > ${cls?length + 1}) {
+sb.setLength(sb.length() - 2);
+}
 sb.append("]");
 return sb.toString();
 
@@ -1,3 +1,6 @@
+<#assign production = productionProfile!false>
+<#assign metrics = metricsEnabled!false>
+<#assign javaVersion = (javaRelease!17)?c>
 <project xmlns="http://maven.apache.org/POM/4.0.0"
          xmlns:xsi="http://www.w3.org/2001/XMLSchema-instance"
          xsi:schemaLocation="http://maven.apache.org/POM/4.0.0 
@@ -21,10 +24,10 @@
     <description>Generated Spring Boot App</description>
 
     <properties>
-        <java.version>17</java.version>
+        <java.version>${javaVersion}</java.version>
         <project.build.sourceEncoding>UTF-8</project.build.sourceEncoding>
-        <maven.compiler.source>17</maven.compiler.source>
-        <maven.compiler.target>17</maven.compiler.target>
+        <maven.compiler.source>${javaVersion}</maven.compiler.source>
+        <maven.compiler.target>${javaVersion}</maven.compiler.target>
     </properties>
 
     <dependencies>
@@ -50,12 +53,32 @@
             <artifactId>spring-boot-starter-data-jpa</artifactId>
         </dependency>
 
+<#if production>
+        <dependency>
+            <groupId>com.mysql</groupId>
+            <artifactId>mysql-connector-j</artifactId>
+            <scope>runtime</scope>
+        </dependency>
+
+        <dependency>
+            <groupId>com.h2database</groupId>
+            <artifactId>h2</artifactId>
+            <scope>test</scope>
+        </dependency>
+
+        <dependency>
+            <groupId>org.springframework.boot</groupId>
+            <artifactId>spring-boot-starter-test</artifactId>
+            <scope>test</scope>
+        </dependency>
+<#else>
        
         <dependency>
             <groupId>com.h2database</groupId>
             <artifactId>h2</artifactId>
             <scope>runtime</scope>
         </dependency>
+</#if>
 <dependency>
     <groupId>org.projectlombok</groupId>
     <artifactId>lombok</artifactId>
@@ -63,6 +86,7 @@
     <scope>provided</scope>
 </dependency>
 
+<#if !production>
        
         <dependency>
             <groupId>org.springframework.boot</groupId>
@@ -70,6 +94,26 @@
             <scope>runtime</scope>
             <optional>true</optional>
         </dependency>
+</#if>
+<#if metrics>
+
+        <dependency>
+            <groupId>org.springframework.boot</groupId>
+            <artifactId>spring-boot-starter-actuator</artifactId>
+        </dependency>
+        <dependency>
+            <groupId>org.springframework.boot</groupId>
+            <artifactId>spring-boot-starter-aop</artifactId>
+        </dependency>
+        <dependency>
+            <groupId>io.micrometer</groupId>
+            <artifactId>micrometer-registry-prometheus</artifactId>
+        </dependency>
+        <dependency>
+            <groupId>org.hibernate.orm</groupId>
+            <artifactId>hibernate-micrometer</artifactId>
+        </dependency>
+</#if>
     </dependencies>
 
     <build>
@@ -79,8 +123,8 @@
             <artifactId>maven-compiler-plugin</artifactId>
             <version>3.11.0</version>
             <configuration>
-                <source>17</source>
-                <target>17</target>
+                <source>${javaVersion}</source>
+                <target>${javaVersion}</target>
                 <annotationProcessorPaths>
                     <path>
                         <groupId>org.mapstruct</groupId>
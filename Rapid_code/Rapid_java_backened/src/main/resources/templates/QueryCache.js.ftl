@@ -0,0 +1,235 @@
+<#noparse>// Generated by the code generator - do not edit by hand.
+// Query cache shared by the generated pages: one entry per request key, with stale-while-revalidate
+// reads, de-duplication of in-flight requests and cancellation once no mounted page is waiting.
+import { useCallback, useEffect, useReducer, useRef, useState } from "react";
+
+const DEFAULT_STALE_TIME = 30000;
+
+const entries = new Map();
+
+const getEntry = (key) => {
+  let entry = entries.get(key);
+  if (!entry) {
+    entry = {
+      data: undefined,
+      error: undefined,
+      updatedAt: 0,
+      promise: null,
+      controller: null,
+      fetcher: null,
+      listeners: new Set(),
+    };
+    entries.set(key, entry);
+  }
+  return entry;
+};
+
+const notify = (entry) => entry.listeners.forEach((listener) => listener());
+
+/**
+ * Fetches a key, joining the request already in flight for it if there is one.
+ *
+ * @param {string} key - Cache key, usually the request URL
+ * @param {function(AbortSignal): Promise} fetcher - Loads the data; must honour the signal
+ * @returns {Promise} The fetched data
+ */
+export const fetchQuery = (key, fetcher) => {
+  const entry = getEntry(key);
+  entry.fetcher = fetcher;
+  if (entry.promise) {
+    return entry.promise;
+  }
+  const controller = new AbortController();
+  entry.controller = controller;
+  entry.promise = fetcher(controller.signal)
+    .then((data) => {
+      entry.data = data;
+      entry.error = undefined;
+      entry.updatedAt = Date.now();
+      return data;
+    })
+    .catch((error) => {
+      if (!controller.signal.aborted) {
+        entry.error = error;
+      }
+      throw error;
+    })
+    .finally(() => {
+      if (entry.controller === controller) {
+        entry.promise = null;
+        entry.controller = null;
+      }
+      notify(entry);
+    });
+  notify(entry);
+  return entry.promise;
+};
+
+export const getQueryData = (key) => entries.get(key)?.data;
+
+/**
+ * Replaces the cached data for a key without a request, e.g. after a mutation.
+ */
+export const setQueryData = (key, updater) => {
+  const entry = getEntry(key);
+  entry.data = typeof updater === "function" ? updater(entry.data) : updater;
+  entry.updatedAt = Date.now();
+  notify(entry);
+};
+
+const updateMatching = (matches, updater) => {
+  const previous = [];
+  entries.forEach((entry, key) => {
+    if (matches(key) && entry.data !== undefined) {
+      previous.push([entry, entry.data]);
+      entry.data = updater(entry.data);
+      notify(entry);
+    }
+  });
+  return () =>
+    previous.forEach(([entry, data]) => {
+      entry.data = data;
+      notify(entry);
+    });
+};
+
+/**
+ * Applies an update to the cached data of every key starting with the prefix, for optimistic
+ * updates. Keys nothing has fetched yet are left alone.
+ *
+ * @returns {function()} Restores the data as it was before the update
+ */
+export const updateQueries = (prefix, updater) => updateMatching((key) => key.startsWith(prefix), updater);
+
+/**
+ * Like updateQueries, for exactly one key.
+ *
+ * @returns {function()} Restores the data as it was before the update
+ */
+export const updateQuery = (key, updater) => updateMatching((candidate) => candidate === key, updater);
+
+/**
+ * Marks every key starting with the prefix, other than exceptKey, as stale and refetches the ones a
+ * mounted page is showing. A request already in flight is cancelled first, since its result may
+ * predate the change.
+ */
+export const invalidateQueries = (prefix, exceptKey) => {
+  entries.forEach((entry, key) => {
+    if (!key.startsWith(prefix) || key === exceptKey) {
+      return;
+    }
+    entry.updatedAt = 0;
+    if (entry.listeners.size > 0 && entry.fetcher) {
+      if (entry.controller) {
+        entry.controller.abort();
+        entry.promise = null;
+        entry.controller = null;
+      }
+      fetchQuery(key, entry.fetcher).catch(() => {});
+    }
+  });
+};
+
+/**
+ * Reads a key from the cache, fetching it on mount when it is missing or older than staleTime.
+ * Cached data is returned straight away while it is revalidated. The request is cancelled when
+ * the last page using the key unmounts.
+ */
+export const useQuery = (key, fetcher, { staleTime = DEFAULT_STALE_TIME } = {}) => {
+  const fetcherRef = useRef(fetcher);
+  fetcherRef.current = fetcher;
+  const [, rerender] = useReducer((count) => count + 1, 0);
+
+  useEffect(() => {
+    const entry = getEntry(key);
+    const load = (signal) => fetcherRef.current(signal);
+    entry.listeners.add(rerender);
+    if (Date.now() - entry.updatedAt > staleTime) {
+      fetchQuery(key, load).catch(() => {});
+    } else {
+      entry.fetcher = load;
+    }
+    return () => {
+      entry.listeners.delete(rerender);
+      if (entry.listeners.size === 0 && entry.controller) {
+        entry.controller.abort();
+      }
+    };
+  }, [key, staleTime]);
+
+  const refetch = useCallback(() => fetchQuery(key, (signal) => fetcherRef.current(signal)), [key]);
+
+  const entry = entries.get(key);
+  return {
+    data: entry?.data,
+    error: entry?.error,
+    isLoading: Boolean(entry?.promise) && entry?.data === undefined,
+    isValidating: Boolean(entry?.promise),
+    refetch,
+  };
+};
+
+const applyChange = (rows, { type, payload }, keyField) => {
+  switch (type) {
+    case "upsert":
+      return rows.some((row) => row[keyField] === payload[keyField])
+        ? rows.map((row) => (row[keyField] === payload[keyField] ? payload : row))
+        : [...rows, payload];
+    case "delete":
+      return rows.filter((row) => row[keyField] !== payload);
+    case "clear":
+      return [];
+    default:
+      return rows;
+  }
+};
+
+/**
+ * Applies an entity's change events to its cached lists while mounted, so open pages stay current
+ * without reloading. Deletes and clears are applied to every list under the prefix. An upserted row is
+ * patched into the full list only: whether it matches a search is for the server to say, so filtered
+ * lists are refetched instead. The browser reconnects with Last-Event-ID on its own; when the server
+ * answers with a reset, the lists are reloaded and the stream is reopened from scratch.
+ *
+ * @param {string} url - The entity's events endpoint
+ * @param {string} prefix - Prefix of the cache keys holding the entity's lists
+ * @param {string} fullListKey - Cache key of the unfiltered list
+ * @param {string} keyField - The primary key property
+ */
+export const useChangeFeed = (url, prefix, fullListKey, keyField) => {
+  useEffect(() => {
+    let source;
+    const open = () => {
+      source = new EventSource(url);
+      source.addEventListener("change", (event) => {
+        const change = JSON.parse(event.data);
+        if (change.type === "upsert") {
+          updateQuery(fullListKey, (rows) => applyChange(rows, change, keyField));
+          invalidateQueries(prefix, fullListKey);
+        } else {
+          updateQueries(prefix, (rows) => applyChange(rows, change, keyField));
+        }
+      });
+      source.addEventListener("reset", () => {
+        source.close();
+        invalidateQueries(prefix);
+        open();
+      });
+    };
+    open();
+    return () => source.close();
+  }, [url, prefix, fullListKey, keyField]);
+};
+
+/**
+ * Returns the value once it has stopped changing for the given delay.
+ */
+export const useDebouncedValue = (value, delay) => {
+  const [debounced, setDebounced] = useState(value);
+  useEffect(() => {
+    const timer = setTimeout(() => setDebounced(value), delay);
+    return () => clearTimeout(timer);
+  }, [value, delay]);
+  return debounced;
+};
+</#noparse>
@@ -1,37 +1,35 @@
 <#assign page = pageName>
-<#assign cls = className?substring(className?last_index_of(".") + 1)>
+<#assign cls = componentName!className?substring(className?last_index_of(".") + 1)>
 <#assign clsLower = cls?uncap_first>
 <#assign pk = primaryKey!'id'>
 <#assign primaryKey = primaryKey!'id'>
 
-import React, { useState, useEffect } from "react";
+import React, { memo, useCallback, useEffect, useMemo, useState } from "react";
 import axios from "axios";
-import {
-Box,
-Button,
-Card,
-Collapse,
-Grid,
-IconButton,
-Paper,
-Table,
-TableBody,
-TableCell,
-TableContainer,
-TableHead,
-TableRow,
-TextField,
-Typography,
-Select,
-MenuItem,
-FormGroup,
-Checkbox,
-RadioGroup,
-Radio,
-FormControlLabel,
-FormControl,
-InputLabel,
-} from "@mui/material";
+import { FixedSizeList, areEqual } from "react-window";
+import { invalidateQueries, updateQueries, updateQuery, useChangeFeed, useDebouncedValue, useQuery } from "../queryCache";
+<#-- Path imports keep each generated chunk to the MUI components it uses; do the same for lodash (e.g. lodash/debounce) -->
+import Box from "@mui/material/Box";
+import Button from "@mui/material/Button";
+import Card from "@mui/material/Card";
+import Collapse from "@mui/material/Collapse";
+import Grid from "@mui/material/Grid";
+import IconButton from "@mui/material/IconButton";
+import Paper from "@mui/material/Paper";
+import TableCell from "@mui/material/TableCell";
+import TableContainer from "@mui/material/TableContainer";
+import TableRow from "@mui/material/TableRow";
+import TextField from "@mui/material/TextField";
+import Typography from "@mui/material/Typography";
+import Select from "@mui/material/Select";
+import MenuItem from "@mui/material/MenuItem";
+import FormGroup from "@mui/material/FormGroup";
+import Checkbox from "@mui/material/Checkbox";
+import RadioGroup from "@mui/material/RadioGroup";
+import Radio from "@mui/material/Radio";
+import FormControlLabel from "@mui/material/FormControlLabel";
+import FormControl from "@mui/material/FormControl";
+import InputLabel from "@mui/material/InputLabel";
 import { styled } from "@mui/material/styles";
 import AddIcon from "@mui/icons-material/Add";
 import DeleteIcon from "@mui/icons-material/Delete";
@@ -131,6 +129,60 @@ backgroundColor: "${(theme.palette.action.hover)!'rgba(0, 0, 0, 0.04)'}", // Use
 },
 }));
 
+// Only the rows in view are mounted, so rendering cost does not grow with the table
+const ROW_HEIGHT = 56;
+const VISIBLE_ROWS = 10;
+
+// Search runs on the server once typing pauses
+const SEARCH_DEBOUNCE_MS = 300;
+const EMPTY_LIST = [];
+
+// Marks a row created optimistically whose create is still in flight; it has no server id to edit or delete yet
+const PENDING = "_pending";
+
+// Rows are absolutely positioned divs, so the table layout is rebuilt with flex columns
+const tableRowSx = { display: "flex", alignItems: "center", boxSizing: "border-box" };
+const dataCellSx = {
+display: "block",
+flex: "1 1 0",
+minWidth: 0,
+overflow: "hidden",
+textOverflow: "ellipsis",
+whiteSpace: "nowrap",
+};
+const actionsCellSx = { display: "block", flex: "0 0 120px" };
+
+const ${cls}Row = memo(function ${cls}Row({ index, style, data }) {
+const { items, onEdit, onDelete } = data;
+const item = items[index];
+const pending = Boolean(item[PENDING]);
+return (
+<TableRow component="div" role="row" style={style} hover sx={tableRowSx}>
+<#list fields as field>
+    <#if field.uiType != "hidden">
+        <TableBodyCell component="div" role="cell" sx={dataCellSx}>
+            <#if field.uiType == "Checkbox">
+                {item["${field.name}"] ? item["${field.name}"].join(", ") : ""}
+            <#else>
+                {item["${field.name}"]}
+            </#if>
+        </TableBodyCell>
+    </#if>
+</#list>
+    <TableBodyCell component="div" role="cell" sx={actionsCellSx}>
+        <IconActionButton disabled={pending} onClick={() => onEdit(item)}>
+        <EditIcon fontSize="small" color={pending ? "disabled" : "primary"} />
+        </IconActionButton>
+        <IconActionButton disabled={pending} onClick={() => onDelete(item["${pk}"])}>
+        <DeleteIcon fontSize="small" color={pending ? "disabled" : "error"} />
+        </IconActionButton>
+    </TableBodyCell>
+</TableRow>
+);
+}, areEqual);
+
+const ${clsLower}RowKey = (index, data) => data.items[index]["${pk}"];
+
 function ${cls}Crud() {
 const [formData, setFormData] = useState({
 <#list fields as field>
@@ -138,23 +190,35 @@ const [formData, setFormData] = useState({
 </#list>
 });
 
-const [list, setList] = useState([]);
 const [showForm, setShowForm] = useState(false);
+const [search, setSearch] = useState("");
 
 const apiBaseUrl = "${apiBaseUrl}";
 
-useEffect(() => {
-fetchList();
-}, []);
+// Results are cached per URL and shared with every other mounted page using the same URL
+const searchTerm = useDebouncedValue(search.trim(), SEARCH_DEBOUNCE_MS);
+const fullListUrl = apiBaseUrl + "/all";
+const listUrl = searchTerm
+? apiBaseUrl + "/search?q=" + encodeURIComponent(searchTerm)
+: fullListUrl;
+const fetchRows = useCallback(
+(signal) => axios.get(listUrl, { signal }).then((response) => response.data),
+[listUrl]
+);
+const { data, error: listError } = useQuery(listUrl, fetchRows);
+const list = data || EMPTY_LIST;
 
-const fetchList = async () => {
-try {
-const response = await axios.get(`${apiBaseUrl}/all`);
-setList(response.data);
-} catch (error) {
-console.error("Failed to fetch ${cls} list:", error);
+useEffect(() => {
+if (listError) {
+console.error("Failed to fetch ${cls} list:", listError);
 }
-};
+}, [listError]);
+
+// Every cached list of this entity, the full list and each search, shares this prefix
+const listKeyPrefix = apiBaseUrl + "/";
+
+// Changes made elsewhere are streamed in, so open pages never poll the list
+useChangeFeed(apiBaseUrl + "/events", listKeyPrefix, fullListUrl, "${pk}");
 
 const handleChange = (e) => {
 const { name, value, type, checked } = e.target;
@@ -174,9 +238,10 @@ setFormData({ ...formData, [name]: value });
 }
 };
 
+// Mutations patch the cached lists straight away and restore them if the request fails. Saves only patch
+// the full list; searches are refetched once the save lands, since the server decides what matches them.
 const handleSubmit = async (e) => {
 e.preventDefault();
-try {
 // Create or update via POST to /create
 const submitData = { ...formData };
 <#list fields as field>
@@ -184,20 +249,36 @@ const submitData = { ...formData };
         submitData.${field.name} = formData.${field.name} ? JSON.parse(formData.${field.name}) : [];
     </#if>
 </#list>
-await axios.post(`${apiBaseUrl}/create`, submitData);
+const editing = Boolean(formData["${pk}"]);
+const rowKey = editing ? formData["${pk}"] : "pending-" + Date.now();
+const rollback = updateQuery(fullListUrl, (rows) =>
+editing
+? rows.map((row) => (row["${pk}"] === rowKey ? { ...row, ...submitData } : row))
+: [...rows, { ...submitData, ["${pk}"]: rowKey, [PENDING]: true }]
+);
 setFormData({
 <#list fields as field>
     ${field.name}: <#if field.uiType == "Checkbox">"[]"<#else>""</#if>,
 </#list>
 });
 setShowForm(false);
-fetchList();
+try {
+const response = await axios.post(apiBaseUrl + "/create", submitData);
+const saved = response.data;
+// The change feed may already have delivered the saved row
+updateQuery(fullListUrl, (rows) =>
+rows
+.filter((row) => row["${pk}"] !== saved["${pk}"] || row["${pk}"] === rowKey)
+.map((row) => (row["${pk}"] === rowKey ? saved : row))
+);
+invalidateQueries(listKeyPrefix, fullListUrl);
 } catch (error) {
+rollback();
 console.error("Failed to save ${cls}:", error);
 }
 };
 
-const handleEdit = (item) => {
+const handleEdit = useCallback((item) => {
 const editData = { ...item };
 <#list fields as field>
     <#if field.uiType == "Checkbox">
@@ -206,22 +287,30 @@ const editData = { ...item };
 </#list>
 setFormData(editData);
 setShowForm(true);
-};
+}, []);
 
-const handleDelete = async (primaryKey) => {
+const handleDelete = useCallback(async (id) => {
+const rollback = updateQueries(listKeyPrefix, (rows) => rows.filter((row) => row["${pk}"] !== id));
 try {
-await axios.delete(`${apiBaseUrl}/delete/${primaryKey}`);
-fetchList();
+await axios.delete(apiBaseUrl + "/delete/" + encodeURIComponent(id));
 } catch (error) {
+rollback();
 console.error("Failed to delete ${cls}:", error);
 }
-};
+}, [apiBaseUrl, listKeyPrefix]);
+
+// Stable while the list and handlers are unchanged, so opening the form does not re-render rows
+const rowData = useMemo(
+() => ({ items: list, onEdit: handleEdit, onDelete: handleDelete }),
+[list, handleEdit, handleDelete]
+);
 
 const handleDeleteAll = async () => {
+const rollback = updateQueries(listKeyPrefix, () => EMPTY_LIST);
 try {
-await axios.delete(`${apiBaseUrl}/deleteAll`);
-fetchList();
+await axios.delete(apiBaseUrl + "/deleteAll");
 } catch (error) {
+rollback();
 console.error("Failed to delete all ${cls}:", error);
 }
 };
@@ -372,52 +461,41 @@ return (
         </FormBox>
     </Collapse>
 
-    <TableContainer component={Paper} elevation={0} sx={{ borderRadius: 2, overflow: "hidden" }}>
-    <Table>
-        <TableHead>
-            <TableRow>
-                <#list fields as field>
-                    <#if field.uiType != "hidden">
-                        <TableHeaderCell>${field.name?cap_first}</TableHeaderCell>
-                    </#if>
-                </#list>
-                <TableHeaderCell>Actions</TableHeaderCell>
-            </TableRow>
-        </TableHead>
-        <TableBody>
-            {list.map((item) => (
-            <TableRow
-                    key={item["${pk}"]}
-                    sx={{
-            "&:hover": {
-            backgroundColor: "rgba(0, 0, 0, 0.02)",
-            transition: "background-color 0.2s",
-            },
-            }}
-            >
-            <#list fields as field>
-                <#if field.uiType != "hidden">
-                    <TableBodyCell>
-                        <#if field.uiType == "Checkbox">
-                            {item["${field.name}"] ? item["${field.name}"].join(", ") : ""}
-                        <#else>
-                            {item["${field.name}"]}
-                        </#if>
-                    </TableBodyCell>
-                </#if>
-            </#list>
-            <TableBodyCell>
-                <IconActionButton onClick={() => handleEdit(item)}>
-                <EditIcon fontSize="small" color="primary" />
-                </IconActionButton>
-                <IconActionButton onClick={() => handleDelete(item["${pk}"])}>
-                <DeleteIcon fontSize="small" color="error" />
-                </IconActionButton>
-            </TableBodyCell>
-            </TableRow>
-            ))}
-        </TableBody>
-    </Table>
+    <StyledTextField
+            label="Search"
+            value={search}
+            onChange={(e) => setSearch(e.target.value)}
+            size="small"
+            fullWidth
+            sx={{ mb: 2 }}
+    />
+
+    <TableContainer component={Paper} elevation={0} role="table" sx={{ borderRadius: 2, overflow: "hidden" }}>
+    <TableRow component="div" role="row" sx={tableRowSx}>
+        <#list fields as field>
+            <#if field.uiType != "hidden">
+                <TableHeaderCell component="div" role="columnheader" sx={dataCellSx}>${field.name?cap_first}</TableHeaderCell>
+            </#if>
+        </#list>
+        <TableHeaderCell component="div" role="columnheader" sx={actionsCellSx}>Actions</TableHeaderCell>
+    </TableRow>
+    {list.length === 0 ? (
+    <Typography variant="body2" color="textSecondary" sx={{ p: 2 }}>
+        No records found
+    </Typography>
+    ) : (
+    <FixedSizeList
+            height={Math.min(list.length, VISIBLE_ROWS) * ROW_HEIGHT}
+            width="100%"
+            itemCount={list.length}
+            itemSize={ROW_HEIGHT}
+            itemData={rowData}
+            itemKey={${clsLower}RowKey}
+            overscanCount={5}
+    >
+        {${cls}Row}
+    </FixedSizeList>
+    )}
     </TableContainer>
 </ContainerCard>
 );
@@ -1,20 +1,94 @@
-<#assign entityPackage = className?substring(0, className?last_index_of(".")) >
 <#assign cls = className?substring( className?last_index_of(".") +1) >
-<#assign jpaPackage  = entityPackage?replace(".model", ".repository") >
+<#assign searchFields = fields?filter(field -> field.type == "String")>
+<#if relationshipType?? && masterTable??>
+    <#assign masterCls = masterTable?capitalize>
+    <#assign toMany = relationshipType == "OneToMany" || relationshipType == "ManyToMany">
+    <#assign masterProperty = toMany?then(masterTable?uncap_first + "s", masterTable?uncap_first)>
+</#if>
+<#assign pagedGraph = relationshipType?? && masterTable?? && !toMany>
+<#-- A to-many fetch join cannot be paged in SQL, so pages select ids first and fetch the graph for them -->
+<#assign pagedIds = relationshipType?? && masterTable?? && toMany>
 
 
 package ${package}.repository;
+<#if pagedIds>
+import java.util.Collection;
+</#if>
 import java.util.List;
-import ${package}.model.${className?substring(className?last_index_of(".") + 1)};
+import java.util.Optional;
+import ${package}.model.${cls};
 <#if relationshipType?? && masterTable??>
-    import ${package}.model.${masterTable?capitalize};
+    import ${package}.model.${masterCls};
+    import org.springframework.data.jpa.repository.EntityGraph;
+</#if>
+<#if pagedGraph || pagedIds>
+import org.springframework.data.domain.Page;
+</#if>
+<#if pagedGraph || pagedIds || searchFields?has_content>
+import org.springframework.data.domain.Pageable;
+</#if>
+<#if pagedIds>
+import org.springframework.data.domain.Sort;
 </#if>
 import org.springframework.data.jpa.repository.JpaRepository;
+<#if relationshipType?? && masterTable?? && relationshipType == "ManyToMany">
+import org.springframework.data.jpa.repository.Modifying;
+</#if>
+<#if pagedIds || searchFields?has_content>
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+</#if>
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface ${className?substring(className?last_index_of(".") + 1)}Repository extends JpaRepository<${className?substring(className?last_index_of(".") + 1)}, Long> {
+public interface ${cls}Repository extends JpaRepository<${cls}, Long> {
 <#if relationshipType?? && masterTable??>
-    List<${className?substring(className?last_index_of(".") + 1)}> findBy${masterTable?capitalize}(${masterTable?capitalize} ${masterTable?uncap_first});
+    <#-- The association is LAZY, so list/find queries fetch-join it to keep a fixed query count per call -->
+    @Override
+    @EntityGraph(attributePaths = "${masterProperty}")
+    List<${cls}> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "${masterProperty}")
+    Optional<${cls}> findById(Long id);
+
+    @EntityGraph(attributePaths = "${masterProperty}")
+    List<${cls}> findBy${masterProperty?cap_first}(${masterCls} ${masterTable?uncap_first});
+</#if>
+<#if pagedGraph>
+
+    @Override
+    @EntityGraph(attributePaths = "${masterProperty}")
+    Page<${cls}> findAll(Pageable pageable);
+</#if>
+<#if pagedIds>
+
+    @Query(value = "select e.${primaryKey} from ${cls} e", countQuery = "select count(e) from ${cls} e")
+    Page<Long> findPageIds(Pageable pageable);
+
+    @EntityGraph(attributePaths = "${masterProperty}")
+    @Query("select e from ${cls} e where e.${primaryKey} in :ids")
+    List<${cls}> findAllWith${masterProperty?cap_first}(@Param("ids") Collection<Long> ids, Sort sort);
+</#if>
+<#if relationshipType?? && masterTable?? && relationshipType == "ManyToMany">
+
+    <#-- Bulk deletes bypass the persistence context, so the owning side's join table is cleared first -->
+    @Modifying
+    @Query(value = "delete from ${cls?lower_case}_${masterTable?uncap_first?lower_case}", nativeQuery = true)
+    void deleteAll${masterProperty?cap_first}Links();
+</#if>
+<#if searchFields?has_content>
+
+    <#-- The pattern is lower-cased and escaped with '!' by the service -->
+    <#if pagedIds>
+    @Query("select e.${primaryKey} from ${cls} e where <#list searchFields as field>lower(e.${field.name}) like concat('%', :pattern, '%') escape '!'<#sep> or </#sep></#list>")
+    List<Long> searchIds(@Param("pattern") String pattern, Pageable pageable);
+    <#else>
+    <#if pagedGraph>
+    @EntityGraph(attributePaths = "${masterProperty}")
+    </#if>
+    @Query("select e from ${cls} e where <#list searchFields as field>lower(e.${field.name}) like concat('%', :pattern, '%') escape '!'<#sep> or </#sep></#list>")
+    List<${cls}> search(@Param("pattern") String pattern, Pageable pageable);
+    </#if>
 </#if>
 }
@@ -0,0 +1,13 @@
+// Generated by the code generator from routeRegistry.json - do not edit by hand.
+// Each page is its own chunk, loaded the first time its route is visited.
+import { lazy } from "react";
+
+const generatedRoutes = {
+<#list routes as route>
+  "${route.routePath}": lazy(() =>
+    import(/* webpackChunkName: "generated-${route.component?lower_case}" */ "./components/${route.component}Crud")
+  ),
+</#list>
+};
+
+export default generatedRoutes;
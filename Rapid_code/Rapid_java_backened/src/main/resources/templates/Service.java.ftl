@@ -1,41 +1,138 @@
-<#assign entityPackage = className?substring(0, className?last_index_of("."))>
-<#assign servicePackage = entityPackage?replace(".model", ".service")>
 <#assign entity = className?substring(className?last_index_of(".")+1)>
-<#assign jpaPackage = entityPackage?replace(".model", ".repository")>
-package ${servicePackage};
+<#assign jpaPackage = package + ".repository">
+<#assign searchFields = fields?filter(field -> field.type == "String")>
+<#assign related = relationshipType?? && masterTable??>
+<#assign pagedIds = related && (relationshipType == "OneToMany" || relationshipType == "ManyToMany")>
+<#if pagedIds>
+    <#assign fetchAll = "findAllWith" + (masterTable?uncap_first + "s")?cap_first>
+</#if>
+package ${package}.service;
 
 import ${className};
 import java.util.Optional;
 import java.util.List;
+<#if searchFields?has_content>
+import java.util.Locale;
+</#if>
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+<#if related>
+import jakarta.persistence.EntityManager;
+</#if>
+<#if metricsEnabled!false>
+import io.micrometer.core.annotation.Timed;
+</#if>
 import ${jpaPackage}.${entity}Repository;
+import ${package}.events.ChangeBroadcaster;
 
 @Service
+<#if metricsEnabled!false>
+@Timed(value = "${entity?uncap_first}.service", histogram = true)
+</#if>
 public class ${entity}Service {
 
+    private static final int MAX_SEARCH_RESULTS = 500;
+
+    public static final String CHANGE_TOPIC = "${entity?lower_case}";
+
     private final ${entity}Repository ${entity?uncap_first}Repository;
+    private final ChangeBroadcaster changeBroadcaster;
+<#if related>
+    private final EntityManager entityManager;
+</#if>
 
-    public ${entity}Service(${entity}Repository ${entity?uncap_first}Repository) {
+    public ${entity}Service(${entity}Repository ${entity?uncap_first}Repository, ChangeBroadcaster changeBroadcaster<#if related>,
+                          EntityManager entityManager</#if>) {
         this.${entity?uncap_first}Repository = ${entity?uncap_first}Repository;
+        this.changeBroadcaster = changeBroadcaster;
+<#if related>
+        this.entityManager = entityManager;
+</#if>
     }
 
     public List<${entity}> getAll${entity}() {
         return ${entity?uncap_first}Repository.findAll();
     }
 
+    /**
+     * Case-insensitive substring search over the text columns, ordered by primary key and capped at
+     * {@value #MAX_SEARCH_RESULTS} rows. A blank query returns the first rows unfiltered.
+<#if pagedIds>
+     * The page of ids is selected first and their associations fetched in one more query, since a
+     * collection fetch join cannot be limited in SQL.
+</#if>
+     */
+    public List<${entity}> search(String query, int limit) {
+        Pageable page = PageRequest.of(0, Math.max(1, Math.min(limit, MAX_SEARCH_RESULTS)), Sort.by("${primaryKey}"));
+<#if searchFields?has_content>
+        if (query != null && !query.isBlank()) {
+            String pattern = query.trim().toLowerCase(Locale.ROOT)
+                    .replace("!", "!!")
+                    .replace("%", "!%")
+                    .replace("_", "!_");
+<#if pagedIds>
+            return fetch(${entity?uncap_first}Repository.searchIds(pattern, page), page.getSort());
+<#else>
+            return ${entity?uncap_first}Repository.search(pattern, page);
+</#if>
+        }
+</#if>
+<#if pagedIds>
+        return fetch(${entity?uncap_first}Repository.findPageIds(page).getContent(), page.getSort());
+<#else>
+        return ${entity?uncap_first}Repository.findAll(page).getContent();
+</#if>
+    }
+<#if pagedIds>
+
+    private List<${entity}> fetch(List<Long> ids, Sort sort) {
+        return ids.isEmpty() ? List.of() : ${entity?uncap_first}Repository.${fetchAll}(ids, sort);
+    }
+</#if>
+
+<#if related>
+    /**
+     * Saves the row and re-reads it through the entity graph, so the published change and the returned
+     * entity carry a loaded association: with open-in-view off, a lazy proxy left in them would fail
+     * to serialize once this transaction has closed.
+     */
+</#if>
+    @Transactional
     public ${entity} save(${entity} ${entity?uncap_first}) {
-        return ${entity?uncap_first}Repository.save(${entity?uncap_first});
+        ${entity} saved = ${entity?uncap_first}Repository.saveAndFlush(${entity?uncap_first});
+<#if related>
+        // Detached first, or findById would hand back the managed instance with its proxy untouched
+        entityManager.detach(saved);
+        saved = ${entity?uncap_first}Repository.findById(saved.get${primaryKey?cap_first}()).orElseThrow();
+</#if>
+        changeBroadcaster.publish(CHANGE_TOPIC, "upsert", saved);
+        return saved;
     }
 
     public void deleteById(Long id) {
         ${entity?uncap_first}Repository.deleteById(id);
+        changeBroadcaster.publish(CHANGE_TOPIC, "delete", id);
     }
 
     public Optional<${entity}> findById(Long id) {
         return ${entity?uncap_first}Repository.findById(id);
     }
 
-    public void deleteAll() {
-        ${entity?uncap_first}Repository.deleteAll();
+    /**
+     * Deletes every row with a single bulk statement instead of loading and deleting them one by one,
+     * and publishes one {@code clear} event with the number of rows that were there.
+     */
+    @Transactional
+    public long deleteAll() {
+        long count = ${entity?uncap_first}Repository.count();
+<#if relationshipType?? && masterTable?? && relationshipType == "ManyToMany">
+        ${entity?uncap_first}Repository.deleteAll${(masterTable?uncap_first + "s")?cap_first}Links();
+</#if>
+        ${entity?uncap_first}Repository.deleteAllInBatch();
+        changeBroadcaster.publish(CHANGE_TOPIC, "clear", count);
+        return count;
     }
 }
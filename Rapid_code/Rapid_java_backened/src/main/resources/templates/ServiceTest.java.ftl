@@ -0,0 +1,71 @@
+<#assign entity = className?substring(className?last_index_of(".")+1)>
+<#assign masterCls = masterTable?capitalize>
+<#assign toMany = relationshipType == "ManyToMany">
+<#assign masterProperty = toMany?then(masterTable?uncap_first + "s", masterTable?uncap_first)>
+package ${package}.service;
+
+import ${className};
+import ${package}.model.${masterCls};
+<#if toMany>
+import java.util.ArrayList;
+import java.util.List;
+</#if>
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Hibernate;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the production settings against an in-memory database; open-in-view is off, so anything
+ * serialized after the service returns must already be loaded.
+ */
+@SpringBootTest(properties = {
+        "spring.datasource.url=jdbc:h2:mem:${entity?lower_case};MODE=MySQL;DB_CLOSE_DELAY=-1",
+        "spring.datasource.driver-class-name=org.h2.Driver",
+        "spring.datasource.username=sa",
+        "spring.datasource.password=",
+        "spring.jpa.hibernate.ddl-auto=create-drop"
+})
+class ${entity}ServiceTest {
+
+    @Autowired
+    private ${entity}Service ${entity?uncap_first}Service;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    void updateReturnsASerializable${masterCls?cap_first}() throws Exception {
+        ${masterCls} ${masterTable?uncap_first} = transactionTemplate.execute(status -> {
+            ${masterCls} created = new ${masterCls}();
+            entityManager.persist(created);
+            return created;
+        });
+        ${entity} ${entity?uncap_first} = new ${entity}();
+<#if toMany>
+        ${entity?uncap_first}.set${masterProperty?cap_first}(new ArrayList<>(List.of(${masterTable?uncap_first})));
+<#else>
+        ${entity?uncap_first}.set${masterProperty?cap_first}(${masterTable?uncap_first});
+</#if>
+        ${entity} created = ${entity?uncap_first}Service.save(${entity?uncap_first});
+
+        // An update arrives as JSON, so the ${masterTable?uncap_first} is only a reference until it is loaded
+        ${entity} update = objectMapper.readValue(objectMapper.writeValueAsString(created), ${entity}.class);
+        ${entity} updated = ${entity?uncap_first}Service.save(update);
+
+        assertThat(updated.get${primaryKey?cap_first}()).isEqualTo(created.get${primaryKey?cap_first}());
+        assertThat(Hibernate.isInitialized(updated.get${masterProperty?cap_first}())).isTrue();
+        assertThat(objectMapper.writeValueAsString(updated)).contains("\"${masterProperty}\"");
+    }
+}
@@ -0,0 +1,54 @@
+package com.codegen.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GenerationManifestTest {
+
+    @TempDir
+    Path root;
+
+    @Test
+    void writtenManifestReadsBackInRecordedOrder() throws IOException {
+        GenerationManifest manifest = new GenerationManifest(root);
+        manifest.recordFile(root.resolve("pom.xml"));
+        manifest.recordFile(root.resolve("src/main/java/com/example/model/Order.java"));
+        manifest.recordFile(root.resolve("react/src/App.js"));
+        manifest.recordFile(root.resolve("pom.xml"));
+        manifest.recordArchive(root.resolve("Order-react.zip"));
+        manifest.write();
+
+        GenerationManifest read = GenerationManifest.read(root).orElseThrow();
+
+        assertThat(read.getFiles()).containsExactly(
+                root.resolve("pom.xml"),
+                root.resolve("src/main/java/com/example/model/Order.java"),
+                root.resolve("react/src/App.js"));
+        assertThat(read.getArchives()).containsExactly(root.resolve("Order-react.zip"));
+        assertThat(read.size()).isEqualTo(3);
+        assertThat(read.getFilesUnder(root.resolve("react"))).containsExactly(root.resolve("react/src/App.js"));
+        assertThat(read.findByFileName("Order-react.zip")).contains(root.resolve("Order-react.zip"));
+        assertThat(Files.readAllLines(root.resolve(GenerationManifest.FILE_NAME)))
+                .contains("file\tsrc/main/java/com/example/model/Order.java");
+    }
+
+    @Test
+    void missingManifestReadsAsEmpty() throws IOException {
+        assertThat(GenerationManifest.read(root)).isEmpty();
+    }
+
+    @Test
+    void pathsOutsideTheRootAreRejected() {
+        GenerationManifest manifest = new GenerationManifest(root.resolve("app"));
+
+        assertThatThrownBy(() -> manifest.recordFile(root.resolve("app/../other/App.java")))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,146 @@
+package com.codegen.service;
+
+import com.codegen.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.codegen.service.AdmissionControl.Operation.BUILD;
+import static com.codegen.service.AdmissionControl.Operation.GENERATE;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class AdmissionControlTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(4);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void concurrentGenerationsRunOneAtATime() throws Exception {
+        AdmissionControl admissionControl = new AdmissionControl(new MockEnvironment(), meterRegistry);
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch firstStarted = new CountDownLatch(1);
+        CountDownLatch releaseFirst = new CountDownLatch(1);
+
+        Future<String> first = executor.submit(() -> admissionControl.run(GENERATE, () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            firstStarted.countDown();
+            releaseFirst.await(5, TimeUnit.SECONDS);
+            running.decrementAndGet();
+            return "first";
+        }));
+        assertThat(firstStarted.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<String> second = executor.submit(() -> admissionControl.run(GENERATE, () -> {
+            maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+            running.decrementAndGet();
+            return "second";
+        }));
+        awaitQueued(admissionControl, 1);
+        assertThat(admissionControl.getActiveCount(GENERATE)).isEqualTo(1);
+
+        releaseFirst.countDown();
+        assertThat(first.get(5, TimeUnit.SECONDS)).isEqualTo("first");
+        assertThat(second.get(5, TimeUnit.SECONDS)).isEqualTo("second");
+        assertThat(maxRunning.get()).isEqualTo(1);
+        assertThat(admissionControl.getActiveCount(GENERATE)).isZero();
+        assertThat(admissionControl.getQueuedCount(GENERATE)).isZero();
+    }
+
+    @Test
+    void rejectsWhenTheQueueIsFull() throws Exception {
+        AdmissionControl admissionControl = admissionControl(1, 0, 5_000);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Boolean> holder = holdPermit(admissionControl, release);
+
+        assertThatThrownBy(() -> admissionControl.run(BUILD, () -> "rejected"))
+                .isInstanceOfSatisfying(TooManyRequestsException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(3));
+        assertThat(admissionControl.getQueuedCount(BUILD)).isZero();
+        assertThat(rejected("queue_full")).isEqualTo(1);
+        assertThat(rejected("timeout")).isZero();
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertThat(admissionControl.run(BUILD, () -> "admitted")).isEqualTo("admitted");
+    }
+
+    @Test
+    void rejectsAfterWaitingTooLong() throws Exception {
+        AdmissionControl admissionControl = admissionControl(1, 1, 50);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<Boolean> holder = holdPermit(admissionControl, release);
+
+        long startTime = System.nanoTime();
+        assertThatThrownBy(() -> admissionControl.run(BUILD, () -> "timed out"))
+                .isInstanceOf(TooManyRequestsException.class);
+        assertThat(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startTime)).isGreaterThanOrEqualTo(50);
+        assertThat(admissionControl.getQueuedCount(BUILD)).isZero();
+        assertThat(rejected("timeout")).isEqualTo(1);
+        assertThat(meterRegistry.get("codegen.admission.wait").tag("operation", "build").timer().count()).isEqualTo(1);
+
+        release.countDown();
+        holder.get(5, TimeUnit.SECONDS);
+        assertThat(admissionControl.getActiveCount(BUILD)).isZero();
+    }
+
+    @Test
+    void releasesThePermitWhenTheActionFails() {
+        AdmissionControl admissionControl = admissionControl(1, 0, 0);
+
+        assertThatThrownBy(() -> admissionControl.run(BUILD, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+        assertThat(admissionControl.getActiveCount(BUILD)).isZero();
+        assertThat(admissionControl.run(BUILD, () -> "admitted")).isEqualTo("admitted");
+    }
+
+    private AdmissionControl admissionControl(int maxConcurrent, int queueCapacity, long maxWaitMs) {
+        MockEnvironment environment = new MockEnvironment()
+                .withProperty("codegen.admission.build.max-concurrent", Integer.toString(maxConcurrent))
+                .withProperty("codegen.admission.build.queue-capacity", Integer.toString(queueCapacity))
+                .withProperty("codegen.admission.build.max-wait-ms", Long.toString(maxWaitMs))
+                .withProperty("codegen.admission.build.retry-after-seconds", "3");
+        return new AdmissionControl(environment, meterRegistry);
+    }
+
+    private Future<Boolean> holdPermit(AdmissionControl admissionControl, CountDownLatch release) throws InterruptedException {
+        CountDownLatch started = new CountDownLatch(1);
+        Future<Boolean> holder = executor.submit(() -> admissionControl.run(BUILD, () -> {
+            started.countDown();
+            return release.await(5, TimeUnit.SECONDS);
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        return holder;
+    }
+
+    private double rejected(String reason) {
+        return meterRegistry.get("codegen.admission.rejected")
+                .tag("operation", "build")
+                .tag("reason", reason)
+                .counter()
+                .count();
+    }
+
+    private static void awaitQueued(AdmissionControl admissionControl, int expected) throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (admissionControl.getQueuedCount(GENERATE) != expected && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(admissionControl.getQueuedCount(GENERATE)).isEqualTo(expected);
+    }
+}
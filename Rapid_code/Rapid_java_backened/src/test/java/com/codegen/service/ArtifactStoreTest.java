@@ -0,0 +1,149 @@
+package com.codegen.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ArtifactStoreTest {
+
+    private static final int KB = 1024;
+
+    @TempDir
+    Path tempDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void evictsLeastRecentlyUsedArtifactOverTheSizeLimit() throws IOException {
+        ArtifactStore store = store(1, 0);
+        store.put("a", artifact("a.jar", 400 * KB));
+        store.put("b", artifact("b.jar", 400 * KB));
+        assertThat(store.find("a")).isPresent();
+
+        store.put("c", artifact("c.jar", 400 * KB));
+
+        assertThat(store.find("b")).isEmpty();
+        assertThat(store.find("a")).isPresent();
+        assertThat(store.find("c")).isPresent();
+        assertThat(store.getTotalBytes()).isEqualTo(800L * KB);
+        assertThat(Files.exists(tempDir.resolve("store/b"))).isFalse();
+        assertThat(evicted("size")).isEqualTo(1);
+    }
+
+    @Test
+    void leasedArtifactIsNotEvictedForSize() throws IOException {
+        ArtifactStore store = store(1, 0);
+        store.put("a", artifact("a.jar", 400 * KB));
+        store.put("b", artifact("b.jar", 400 * KB));
+
+        try (ArtifactStore.Lease lease = store.lease("a.jar").orElseThrow()) {
+            assertThat(store.getActiveLeases()).isEqualTo(1);
+            store.put("c", artifact("c.jar", 400 * KB));
+
+            assertThat(Files.isRegularFile(lease.file())).isTrue();
+            assertThat(store.find("b")).isEmpty();
+        }
+        assertThat(store.getActiveLeases()).isZero();
+    }
+
+    @Test
+    void sweepEvictsArtifactsPastTheMaximumAgeUnlessLeased() throws IOException {
+        Path root = tempDir.resolve("store");
+        ArtifactStore seeded = store(512, 1);
+        seeded.put("old", artifact("old.jar", KB));
+        seeded.put("leased", artifact("leased.jar", KB));
+        seeded.put("fresh", artifact("fresh.jar", KB));
+        FileTime twoHoursAgo = FileTime.from(Instant.now().minus(Duration.ofHours(2)));
+        Files.setLastModifiedTime(root.resolve("old/old.jar"), twoHoursAgo);
+        Files.setLastModifiedTime(root.resolve("leased/leased.jar"), twoHoursAgo);
+
+        ArtifactStore store = store(512, 1);
+        try (ArtifactStore.Lease lease = leaseWithoutTouching(store, "leased.jar")) {
+            store.sweep();
+
+            assertThat(store.findByFileName("old.jar")).isEmpty();
+            assertThat(Files.isRegularFile(lease.file())).isTrue();
+            assertThat(store.findByFileName("fresh.jar")).isPresent();
+            assertThat(evicted("age")).isEqualTo(1);
+        }
+    }
+
+    @Test
+    void reindexesExistingArtifactsOnStartup() throws IOException {
+        ArtifactStore first = store(512, 0);
+        Path stored = first.put("a", artifact("a.jar", 3 * KB));
+        first.put(artifact("app-react.zip", 2 * KB));
+        Files.writeString(tempDir.resolve("store/a/half-written.tmp"), "ignored");
+
+        ArtifactStore restarted = store(512, 0);
+
+        assertThat(restarted.getCount()).isEqualTo(2);
+        assertThat(restarted.getTotalBytes()).isEqualTo(5L * KB);
+        assertThat(restarted.find("a")).contains(stored);
+        assertThat(restarted.findByFileName("app-react.zip")).isPresent();
+    }
+
+    @Test
+    void putOfKnownFingerprintReturnsTheStoredCopy() throws IOException {
+        ArtifactStore store = store(512, 0);
+        Path stored = store.put("a", artifact("a.jar", KB));
+
+        assertThat(store.put("a", artifact("a.jar", 2 * KB))).isEqualTo(stored);
+        assertThat(store.getCount()).isEqualTo(1);
+        assertThat(store.getTotalBytes()).isEqualTo(KB);
+    }
+
+    @Test
+    void sweepDropsArtifactsDeletedExternally() throws IOException {
+        ArtifactStore store = store(512, 0);
+        Path stored = store.put("a", artifact("a.jar", KB));
+        Files.delete(stored);
+
+        store.sweep();
+
+        assertThat(store.getCount()).isZero();
+        assertThat(store.getTotalBytes()).isZero();
+        assertThat(store.findByFileName("a.jar")).isEmpty();
+    }
+
+    private ArtifactStore store(long maxSizeMb, long maxAgeHours) {
+        ArtifactStore store = new ArtifactStore(meterRegistry);
+        ReflectionTestUtils.setField(store, "storePath", tempDir.resolve("store").toString());
+        ReflectionTestUtils.setField(store, "maxSizeMb", maxSizeMb);
+        ReflectionTestUtils.setField(store, "maxAgeHours", maxAgeHours);
+        store.init();
+        return store;
+    }
+
+    /**
+     * Leases an artifact while keeping the last-access time it was indexed with, which {@code lease}
+     * would otherwise refresh.
+     */
+    private static ArtifactStore.Lease leaseWithoutTouching(ArtifactStore store, String fileName) throws IOException {
+        Path file = store.findByFileName(fileName).orElseThrow();
+        FileTime lastModified = Files.getLastModifiedTime(file);
+        ArtifactStore.Lease lease = store.lease(fileName).orElseThrow();
+        Object entry = ReflectionTestUtils.getField(lease, "entry");
+        ReflectionTestUtils.setField(entry, "lastAccess", lastModified.toMillis());
+        return lease;
+    }
+
+    private Path artifact(String fileName, int size) throws IOException {
+        Path dir = Files.createDirectories(tempDir.resolve("build"));
+        return Files.write(dir.resolve(fileName), new byte[size]);
+    }
+
+    private double evicted(String reason) {
+        return meterRegistry.get("codegen.artifacts.evicted").tag("reason", reason).counter().count();
+    }
+}
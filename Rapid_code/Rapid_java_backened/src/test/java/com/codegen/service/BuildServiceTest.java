@@ -0,0 +1,193 @@
+package com.codegen.service;
+
+import com.codegen.exception.ServiceException;
+import com.codegen.model.BuildJob;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.DisabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class BuildServiceTest {
+
+    @TempDir
+    Path tempDir;
+
+    private BuildService buildService;
+
+    @BeforeEach
+    void setUp() {
+        buildService = new BuildService(new GenerationMetrics(new SimpleMeterRegistry()), mock(ArtifactStore.class));
+        ReflectionTestUtils.setField(buildService, "mavenExecutablePath", "");
+        ReflectionTestUtils.setField(buildService, "mvndPath", "");
+        ReflectionTestUtils.setField(buildService, "buildThreads", "1C");
+        ReflectionTestUtils.setField(buildService, "localRepository", "");
+        ReflectionTestUtils.setField(buildService, "skipTests", true);
+        ReflectionTestUtils.setField(buildService, "workPath", tempDir.resolve("work").toString());
+    }
+
+    @Test
+    void fingerprintDoesNotDependOnWriteOrder() throws IOException {
+        Path first = project("first", "pom", Map.of("src/A.java", "class A {}", "src/b/B.java", "class B {}"));
+        Path second = project("second", "pom", Map.of("src/b/B.java", "class B {}", "src/A.java", "class A {}"));
+
+        assertThat(buildService.fingerprint(first)).isEqualTo(buildService.fingerprint(second)).hasSize(64);
+    }
+
+    @Test
+    void fingerprintCoversSourcesPomAndPaths() throws IOException {
+        String base = buildService.fingerprint(project("base", "pom", Map.of("src/A.java", "class A {}")));
+
+        assertThat(buildService.fingerprint(project("source", "pom", Map.of("src/A.java", "class A { }")))).isNotEqualTo(base);
+        assertThat(buildService.fingerprint(project("pom", "pom2", Map.of("src/A.java", "class A {}")))).isNotEqualTo(base);
+        assertThat(buildService.fingerprint(project("path", "pom", Map.of("src/B.java", "class A {}")))).isNotEqualTo(base);
+    }
+
+    @Test
+    void fingerprintIgnoresFilesOutsideSrc() throws IOException {
+        Path project = project("project", "pom", Map.of("src/A.java", "class A {}"));
+        String before = buildService.fingerprint(project);
+        Files.createDirectories(project.resolve("target"));
+        Files.writeString(project.resolve("target/app.jar"), "jar");
+        Files.writeString(project.resolve(".codegen-manifest"), "file\tsrc/A.java");
+
+        assertThat(buildService.fingerprint(project)).isEqualTo(before);
+    }
+
+    @Test
+    void snapshotCopiesOnlyWhatTheBuildReads() throws IOException {
+        Path project = project("project", "pom", Map.of("src/A.java", "class A {}", "target/app.jar", "jar"));
+        Files.writeString(project.resolve("mvnw"), "#!/bin/sh");
+
+        Path snapshot = buildService.snapshot(project);
+        Files.writeString(project.resolve("src/A.java"), "class A { }");
+
+        assertThat(snapshot).startsWith(tempDir.resolve("work"));
+        assertThat(snapshot.resolve("mvnw")).exists();
+        assertThat(snapshot.resolve("target")).doesNotExist();
+        assertThat(buildService.fingerprint(snapshot))
+                .isEqualTo(buildService.fingerprint(project("original", "pom", Map.of("src/A.java", "class A {}"))));
+    }
+
+    @Test
+    @DisabledOnOs(OS.WINDOWS)
+    void jarIsStoredUnderTheFingerprintOfTheSourcesItWasBuiltFrom() throws Exception {
+        Path project = project("project", "pom", Map.of("src/A.java", "class A {}"));
+        String fingerprint = buildService.fingerprint(project);
+        // Stands in for Maven: regenerates the project mid-build, then packages the snapshot it runs in
+        Path maven = Files.writeString(tempDir.resolve("mvn"), "#!/bin/sh\n"
+                + "echo 'class B {}' > '" + project.resolve("src/A.java") + "'\n"
+                + "mkdir -p target && cp src/A.java target/app.jar\n");
+        assertThat(maven.toFile().setExecutable(true)).isTrue();
+        ArtifactStore artifactStore = mock(ArtifactStore.class);
+        when(artifactStore.find(anyString())).thenReturn(Optional.empty());
+        Map<String, String> stored = new ConcurrentHashMap<>();
+        when(artifactStore.put(anyString(), any(Path.class))).thenAnswer(invocation -> {
+            Path jar = invocation.getArgument(1);
+            stored.put(invocation.getArgument(0), Files.readString(jar).trim());
+            return jar;
+        });
+        BuildService buildService = new BuildService(new GenerationMetrics(new SimpleMeterRegistry()), artifactStore);
+        ReflectionTestUtils.setField(buildService, "mavenExecutablePath", maven.toString());
+        ReflectionTestUtils.setField(buildService, "mvndPath", "");
+        ReflectionTestUtils.setField(buildService, "buildThreads", "");
+        ReflectionTestUtils.setField(buildService, "localRepository", "");
+        ReflectionTestUtils.setField(buildService, "workPath", tempDir.resolve("work").toString());
+        ReflectionTestUtils.setField(buildService, "javaHomes", "");
+        ReflectionTestUtils.setField(buildService, "maxParallel", 1);
+        ReflectionTestUtils.setField(buildService, "queueCapacity", 1);
+        ReflectionTestUtils.setField(buildService, "timeoutSeconds", 30L);
+        ReflectionTestUtils.setField(buildService, "logBufferLines", 100);
+        buildService.start();
+        try {
+            BuildJob job = buildService.submit(project.toString()).getCompletion().get(30, TimeUnit.SECONDS);
+
+            assertThat(job.getStatus()).isEqualTo(BuildJob.Status.SUCCEEDED);
+            assertThat(stored).containsExactly(Map.entry(fingerprint, "class A {}"));
+            assertThat(project.resolve("target/app.jar")).hasContent("class A {}");
+            try (Stream<Path> snapshots = Files.list(tempDir.resolve("work"))) {
+                assertThat(snapshots).isEmpty();
+            }
+        } finally {
+            buildService.stop();
+        }
+    }
+
+    @Test
+    void buildCommandRunsCleanPackageWithConfiguredFlags() throws IOException {
+        Path project = project("project", "pom", Map.of());
+        ReflectionTestUtils.setField(buildService, "localRepository", tempDir.resolve("repository").toString());
+
+        List<String> command = buildService.buildCommand(project.toFile(), false);
+
+        assertThat(command).endsWith("mvn", "-B", "-T", "1C",
+                "-Dmaven.repo.local=" + tempDir.resolve("repository").toAbsolutePath(), "-DskipTests", "clean", "package");
+        assertThat(command).doesNotContain("-o");
+    }
+
+    @Test
+    void buildCommandGoesOfflineAndOmitsUnsetFlags() throws IOException {
+        Path project = project("project", "pom", Map.of());
+        ReflectionTestUtils.setField(buildService, "buildThreads", "");
+        ReflectionTestUtils.setField(buildService, "skipTests", false);
+
+        assertThat(buildService.buildCommand(project.toFile(), true)).endsWith("mvn", "-B", "-o", "clean", "package");
+    }
+
+    @Test
+    void buildCommandPrefersTheProjectWrapper() throws IOException {
+        Path project = project("project", "pom", Map.of());
+        Path wrapper = Files.writeString(project.resolve("mvnw"), "#!/bin/sh");
+        assertThat(wrapper.toFile().setExecutable(true)).isTrue();
+
+        assertThat(buildService.buildCommand(project.toFile(), false)).contains(wrapper.toAbsolutePath().toString());
+    }
+
+    @Test
+    void javaReleaseIsReadFromThePom() throws IOException {
+        Path project = project("project", "<properties>\n  <java.version>21</java.version>\n</properties>", Map.of());
+
+        assertThat(buildService.javaRelease(project)).isEqualTo(21);
+        assertThat(buildService.javaRelease(project("plain", "<project/>", Map.of())))
+                .isEqualTo(Runtime.version().feature());
+    }
+
+    @Test
+    void javaHomesAreParsedAsReleasePathPairs() {
+        assertThat(BuildService.parseJavaHomes("21=/opt/jdk-21, 17 = /opt/jdk-17"))
+                .containsExactly(Map.entry(21, "/opt/jdk-21"), Map.entry(17, "/opt/jdk-17"));
+        assertThat(BuildService.parseJavaHomes("")).isEmpty();
+        assertThatThrownBy(() -> BuildService.parseJavaHomes("/opt/jdk-21")).isInstanceOf(ServiceException.class);
+        assertThatThrownBy(() -> BuildService.parseJavaHomes("latest=/opt/jdk")).isInstanceOf(ServiceException.class);
+    }
+
+    private Path project(String name, String pom, Map<String, String> sources) throws IOException {
+        Path dir = Files.createDirectories(tempDir.resolve(name));
+        Files.writeString(dir.resolve("pom.xml"), pom);
+        for (Map.Entry<String, String> source : sources.entrySet()) {
+            Path file = dir.resolve(source.getKey());
+            Files.createDirectories(file.getParent());
+            Files.writeString(file, source.getValue());
+        }
+        return dir;
+    }
+}
@@ -0,0 +1,192 @@
+package com.codegen.service;
+
+import com.codegen.exception.RapidControllerException;
+import com.codegen.exception.TooManyRequestsException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class RequestDeduplicatorTest {
+
+    private final ExecutorService executor = Executors.newFixedThreadPool(2);
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final AtomicInteger runs = new AtomicInteger();
+    private RequestDeduplicator deduplicator;
+
+    @BeforeEach
+    void setUp() {
+        deduplicator = new RequestDeduplicator(meterRegistry);
+        configure(300, 1000, 5_000);
+    }
+
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    @Test
+    void duplicateJoinsTheRunInFlight() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<RequestDeduplicator.Outcome<String>> original = executor.submit(() ->
+                deduplicator.execute("op", null, Map.of("table", "orders"), true, () -> {
+                    started.countDown();
+                    await(release);
+                    return "run-" + runs.incrementAndGet();
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        Future<RequestDeduplicator.Outcome<String>> duplicate = executor.submit(() ->
+                deduplicator.execute("op", null, Map.of("table", "orders"), true, this::run));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count("joined") == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        release.countDown();
+
+        assertThat(original.get(5, TimeUnit.SECONDS)).isEqualTo(new RequestDeduplicator.Outcome<>("run-1", false));
+        assertThat(duplicate.get(5, TimeUnit.SECONDS)).isEqualTo(new RequestDeduplicator.Outcome<>("run-1", true));
+        assertThat(runs).hasValue(1);
+        assertThat(count("joined")).isEqualTo(1);
+    }
+
+    @Test
+    void completedRunIsReplayedWithinTheWindow() {
+        assertThat(execute(null, Map.of("table", "orders"), true).shared()).isFalse();
+
+        RequestDeduplicator.Outcome<String> replay = execute(null, Map.of("table", "orders"), true);
+
+        assertThat(replay).isEqualTo(new RequestDeduplicator.Outcome<>("run-1", true));
+        assertThat(runs).hasValue(1);
+        assertThat(count("replayed")).isEqualTo(1);
+    }
+
+    @Test
+    void differentPayloadRunsSeparately() {
+        execute(null, Map.of("table", "orders"), true);
+
+        assertThat(execute(null, Map.of("table", "invoices"), true).value()).isEqualTo("run-2");
+    }
+
+    @Test
+    void canonicalHashIgnoresMapOrder() {
+        Map<String, Object> first = new LinkedHashMap<>();
+        first.put("a", 1);
+        first.put("b", 2);
+        Map<String, Object> second = new LinkedHashMap<>();
+        second.put("b", 2);
+        second.put("a", 1);
+
+        assertThat(deduplicator.canonicalHash(first)).isEqualTo(deduplicator.canonicalHash(second));
+    }
+
+    @Test
+    void expiredRunIsEvicted() throws Exception {
+        configure(0, 1000, 5_000);
+        execute(null, Map.of("table", "orders"), true);
+        Thread.sleep(5);
+
+        assertThat(execute(null, Map.of("table", "orders"), true)).isEqualTo(new RequestDeduplicator.Outcome<>("run-2", false));
+    }
+
+    @Test
+    void oldestCompletedRunsAreEvictedOverTheEntryLimit() {
+        configure(300, 1, 5_000);
+        execute(null, Map.of("table", "orders"), true);
+        execute(null, Map.of("table", "invoices"), true);
+        execute(null, Map.of("table", "customers"), true);
+
+        assertThat(execute(null, Map.of("table", "orders"), true).shared()).isFalse();
+    }
+
+    @Test
+    void idempotencyKeyReusedWithAnotherPayloadIsRejected() {
+        execute("key-1", Map.of("table", "orders"), true);
+
+        assertThatThrownBy(() -> execute("key-1", Map.of("table", "invoices"), true))
+                .isInstanceOf(RapidControllerException.class);
+        assertThat(runs).hasValue(1);
+    }
+
+    @Test
+    void nonReplayableRequestRunsAgainUnlessKeyed() {
+        execute(null, Map.of("regenerate", true), false);
+        assertThat(execute(null, Map.of("regenerate", true), false)).isEqualTo(new RequestDeduplicator.Outcome<>("run-2", false));
+
+        execute("key-1", Map.of("regenerate", true), false);
+        assertThat(execute("key-1", Map.of("regenerate", true), false)).isEqualTo(new RequestDeduplicator.Outcome<>("run-3", true));
+    }
+
+    @Test
+    void failedRunIsNotKept() {
+        assertThatThrownBy(() -> deduplicator.execute("op", null, Map.of("table", "orders"), true, () -> {
+            throw new IllegalStateException("boom");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(execute(null, Map.of("table", "orders"), true)).isEqualTo(new RequestDeduplicator.Outcome<>("run-1", false));
+    }
+
+    @Test
+    void duplicateStopsWaitingAfterTheMaximumWait() throws Exception {
+        configure(300, 1000, 50);
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Future<RequestDeduplicator.Outcome<String>> original = executor.submit(() ->
+                deduplicator.execute("op", null, Map.of("table", "orders"), true, () -> {
+                    started.countDown();
+                    await(release);
+                    return "slow";
+                }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> execute(null, Map.of("table", "orders"), true))
+                .isInstanceOfSatisfying(TooManyRequestsException.class,
+                        e -> assertThat(e.getRetryAfterSeconds()).isEqualTo(7));
+        assertThat(count("timed_out")).isEqualTo(1);
+
+        release.countDown();
+        assertThat(original.get(5, TimeUnit.SECONDS).value()).isEqualTo("slow");
+        assertThat(execute(null, Map.of("table", "orders"), true)).isEqualTo(new RequestDeduplicator.Outcome<>("slow", true));
+    }
+
+    private RequestDeduplicator.Outcome<String> execute(String idempotencyKey, Object payload, boolean replayable) {
+        return deduplicator.execute("op", idempotencyKey, payload, replayable, this::run);
+    }
+
+    private String run() {
+        return "run-" + runs.incrementAndGet();
+    }
+
+    private void configure(long replayWindowSeconds, int maxEntries, long maxWaitMs) {
+        ReflectionTestUtils.setField(deduplicator, "replayWindowSeconds", replayWindowSeconds);
+        ReflectionTestUtils.setField(deduplicator, "maxEntries", maxEntries);
+        ReflectionTestUtils.setField(deduplicator, "maxWaitMs", maxWaitMs);
+        ReflectionTestUtils.setField(deduplicator, "retryAfterSeconds", 7L);
+    }
+
+    private double count(String outcome) {
+        return meterRegistry.get("codegen.dedup.requests").tag("outcome", outcome).counter().count();
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
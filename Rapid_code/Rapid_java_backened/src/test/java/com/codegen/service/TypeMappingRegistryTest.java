@@ -0,0 +1,90 @@
+package com.codegen.service;
+
+import com.codegen.model.GeneratorInput;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class TypeMappingRegistryTest {
+
+    private final TypeMappingRegistry registry = new TypeMappingRegistry();
+
+    @Test
+    void stringLengthsMapToVarcharUntilTheyNeedText() {
+        assertThat(registry.toSqlType(string(null))).isEqualTo("VARCHAR(255)");
+        assertThat(registry.toSqlType(string(0))).isEqualTo("VARCHAR(255)");
+        assertThat(registry.toSqlType(string(1))).isEqualTo("VARCHAR(1)");
+        assertThat(registry.toSqlType(string(16_383))).isEqualTo("VARCHAR(16383)");
+        assertThat(registry.toSqlType(string(16_384))).isEqualTo("MEDIUMTEXT");
+        assertThat(registry.toSqlType(string(4_194_303))).isEqualTo("MEDIUMTEXT");
+        assertThat(registry.toSqlType(string(4_194_304))).isEqualTo("LONGTEXT");
+    }
+
+    @Test
+    void decimalsAreClampedToMysqlLimits() {
+        assertThat(registry.toSqlType(decimal(null, null))).isEqualTo("DECIMAL(19,2)");
+        assertThat(registry.toSqlType(decimal(10, 4))).isEqualTo("DECIMAL(10,4)");
+        assertThat(registry.toSqlType(decimal(10, 0))).isEqualTo("DECIMAL(10,0)");
+        assertThat(registry.toSqlType(decimal(65, 30))).isEqualTo("DECIMAL(65,30)");
+        assertThat(registry.toSqlType(decimal(66, 31))).isEqualTo("DECIMAL(65,30)");
+        assertThat(registry.toSqlType(decimal(5, 8))).isEqualTo("DECIMAL(5,5)");
+        assertThat(registry.toSqlType(decimal(0, -1))).isEqualTo("DECIMAL(19,2)");
+    }
+
+    @Test
+    void fixedSizeTypesIgnoreSizes() {
+        GeneratorInput.Field flag = field("active", "Boolean");
+        flag.setLength(10);
+
+        assertThat(registry.toSqlType(flag)).isEqualTo("TINYINT(1)");
+        assertThat(registry.toSqlType(field("id", "Long"))).isEqualTo("BIGINT");
+        assertThat(registry.toSqlType(field("at", "LocalDateTime"))).isEqualTo("DATETIME(6)");
+        assertThat(registry.toSqlType(field("shape", "Polygon"))).isEqualTo("VARCHAR(255)");
+    }
+
+    @Test
+    void withColumnSizeOnlySizesStringsAndDecimals() {
+        GeneratorInput.Field count = field("count", "Integer");
+        count.setLength(10);
+        count.setPrecision(5);
+
+        GeneratorInput.Field sized = registry.withColumnSize(count);
+
+        assertThat(sized.getLength()).isNull();
+        assertThat(sized.getPrecision()).isNull();
+        assertThat(sized.getScale()).isNull();
+        assertThat(registry.withColumnSize(string(80)).getLength()).isEqualTo(80);
+        assertThat(registry.withColumnSize(decimal(12, null)).getScale()).isEqualTo(2);
+        assertThat(count.getLength()).isEqualTo(10);
+    }
+
+    @Test
+    void onlyOneBitWideColumnsAreBooleans() {
+        assertThat(registry.toJavaType("tinyint", "tinyint(1)")).isEqualTo("Boolean");
+        assertThat(registry.toJavaType("tinyint", "tinyint(4)")).isEqualTo("Integer");
+        assertThat(registry.toJavaType("tinyint", null)).isEqualTo("Boolean");
+        assertThat(registry.toJavaType("bit", "bit(1)")).isEqualTo("Boolean");
+        assertThat(registry.toJavaType("bit", "bit(8)")).isEqualTo("Long");
+        assertThat(registry.toJavaType("DECIMAL", "decimal(10,2)")).isEqualTo("BigDecimal");
+        assertThat(registry.toJavaType("geometry", "geometry")).isEqualTo("String");
+    }
+
+    private static GeneratorInput.Field string(Integer length) {
+        GeneratorInput.Field field = field("name", "String");
+        field.setLength(length);
+        return field;
+    }
+
+    private static GeneratorInput.Field decimal(Integer precision, Integer scale) {
+        GeneratorInput.Field field = field("amount", "BigDecimal");
+        field.setPrecision(precision);
+        field.setScale(scale);
+        return field;
+    }
+
+    private static GeneratorInput.Field field(String name, String type) {
+        return new GeneratorInput.Field(name, type, false, "textbox", 0, new ArrayList<>());
+    }
+}
@@ -0,0 +1,84 @@
+package com.codegen.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipFile;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ZipPackagerTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void entriesFollowTheGivenOrderWhateverTheParallelism() throws IOException {
+        Path sourceDir = tempDir.resolve("app");
+        List<Path> files = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            // Sizes vary so workers finish out of order
+            files.add(write(sourceDir.resolve("src/File" + i + ".java"), "x".repeat((40 - i) * 1000)));
+        }
+        Collections.shuffle(files, new Random(42));
+
+        for (int parallelism : new int[]{1, 4}) {
+            Path zipPath = tempDir.resolve("app-" + parallelism + ".zip");
+            packager(parallelism).zip(sourceDir, files, zipPath);
+
+            try (ZipFile zip = new ZipFile(zipPath.toFile())) {
+                List<String> names = zip.stream().map(ZipEntry::getName).toList();
+                assertThat(names).containsExactlyElementsOf(
+                        files.stream().map(file -> sourceDir.relativize(file).toString().replace('\\', '/')).toList());
+            }
+        }
+        // Timestamps aside, the archive does not depend on how many workers deflated it
+        assertThat(crcs(tempDir.resolve("app-4.zip"))).isEqualTo(crcs(tempDir.resolve("app-1.zip")));
+    }
+
+    @Test
+    void compressedFilesAreStoredAndOthersDeflated() throws IOException {
+        Path sourceDir = tempDir.resolve("app");
+        Path source = write(sourceDir.resolve("App.java"), "class App {}\n".repeat(100));
+        Path image = write(sourceDir.resolve("public/logo.PNG"), "png");
+        Path zipPath = tempDir.resolve("app.zip");
+
+        packager(2).zip(sourceDir, List.of(source, image), zipPath);
+
+        try (ZipFile zip = new ZipFile(zipPath.toFile())) {
+            ZipEntry sourceEntry = zip.getEntry("App.java");
+            assertThat(sourceEntry.getMethod()).isEqualTo(ZipEntry.DEFLATED);
+            assertThat(new String(zip.getInputStream(sourceEntry).readAllBytes(), StandardCharsets.UTF_8))
+                    .isEqualTo(Files.readString(source));
+            assertThat(zip.getEntry("public/logo.PNG").getMethod()).isEqualTo(ZipEntry.STORED);
+        }
+    }
+
+    private static List<Long> crcs(Path zipPath) throws IOException {
+        try (ZipFile zip = new ZipFile(zipPath.toFile())) {
+            return zip.stream().map(ZipEntry::getCrc).toList();
+        }
+    }
+
+    private static ZipPackager packager(int parallelism) {
+        ZipPackager packager = new ZipPackager();
+        ReflectionTestUtils.setField(packager, "compressionLevel", 6);
+        ReflectionTestUtils.setField(packager, "parallelism", parallelism);
+        return packager;
+    }
+
+    private static Path write(Path file, String content) throws IOException {
+        Files.createDirectories(file.getParent());
+        return Files.writeString(file, content);
+    }
+}
@@ -1,18 +1,15 @@
-import React, { Suspense, lazy, useState, useEffect } from "react";
-import {
-  Box,
-  CircularProgress,
-  Typography,
-  Paper,
-  Button,
-  styled,
-} from "@mui/material";
-import MJBCrud from "./components/MJBCrud";
+import React, { Suspense, useMemo } from "react";
+import Box from "@mui/material/Box";
+import CircularProgress from "@mui/material/CircularProgress";
+import Typography from "@mui/material/Typography";
+import generatedRoutes from "./routeRegistry";
 import generateDynamicComponent from "./components/DynamicComponentGenerator";
 
 /**
  * This file serves as the entry point for dynamically generated pages.
- * It provides a mechanism to load components based on the requested page name.
+ * Generated CRUD pages are looked up by route in routeRegistry.js, which the code generator
+ * rewrites whenever it publishes a page; each page is its own chunk and is only fetched the
+ * first time its route is visited.
  */
 
 // Loading component shown while the dynamic page is being loaded
@@ -52,8 +49,18 @@ const PageNotFound = ({ pageName }) => (
 );
 
 /**
- * DynamicPageLoader - Attempts to load a component based on the page name
- * If the component doesn't exist, it automatically generates one
+ * Normalizes a route path to the form used as a key in routeRegistry.js
+ * (leading slash, no trailing slash).
+ *
+ * @param {string} routePath - Route path as configured for the menu item
+ * @returns {string} The normalized route path
+ */
+const normalizeRoutePath = (routePath = "") =>
+  "/" + routePath.trim().replace(/^\/+/, "").replace(/\/+$/, "");
+
+/**
+ * DynamicPageLoader - Loads the generated page registered for the route
+ * If no page has been generated for it, it automatically generates one
  *
  * @param {Object} props - Component props
  * @param {string} props.pageName - Name of the page to load
@@ -61,86 +68,39 @@ const PageNotFound = ({ pageName }) => (
  * @returns {JSX.Element} The loaded component or a generated one
  */
 const DynamicPageLoader = ({ pageName, routePath }) => {
-  const [loadError, setLoadError] = useState(false);
-
-  // If no page name is provided, show an error
-  if (!pageName) {
-    return <PageNotFound pageName="unknown" />;
-  }
-
-  console.log(`Attempting to load dynamic page: ${pageName}`);
-
-  // Normalize the page name to lowercase for consistency
-  const normalizedPageName = pageName.toLowerCase();
-
-  // If we already know there's an error, generate a dynamic component
-  if (loadError) {
-    console.log(`Generating dynamic component for ${normalizedPageName}`);
-
-    // Generate a dynamic component based on the page name
-    const GeneratedComponent = generateDynamicComponent({
+  const GeneratedPage = routePath
+    ? generatedRoutes[normalizeRoutePath(routePath)]
+    : undefined;
+
+  // Only built when no generated page is registered for the route
+  const FallbackComponent = useMemo(() => {
+    if (GeneratedPage || !pageName) {
+      return null;
+    }
+    const normalizedPageName = pageName.toLowerCase();
+    return generateDynamicComponent({
       tableName: normalizedPageName,
       pageName:
         normalizedPageName.charAt(0).toUpperCase() +
         normalizedPageName.slice(1),
       apiEndpoint: `api/${normalizedPageName}`,
     });
-
-    return <GeneratedComponent />;
+  }, [GeneratedPage, pageName]);
+
+  if (GeneratedPage) {
+    return (
+      <Suspense fallback={<LoadingComponent />}>
+        <GeneratedPage />
+      </Suspense>
+    );
   }
 
-  // Create a dynamic import path based on the page name
-  const DynamicComponent = lazy(() => {
-    console.log(`Importing dynamic page from ./${normalizedPageName}`);
-
-    // Generate a dynamic component based on the page name
-    const GeneratedComponent = generateDynamicComponent({
-      tableName: normalizedPageName,
-      pageName:
-        normalizedPageName.charAt(0).toUpperCase() +
-        normalizedPageName.slice(1),
-      apiEndpoint: `api/${normalizedPageName}`,
-    });
-
-    // First try to import from a subdirectory with index.js (most common pattern)
-    return import(`./${normalizedPageName}/index`).catch((indexError) => {
-      console.log(
-        `Failed to load ./${normalizedPageName}/index, trying direct import...`
-      );
-
-      // If that fails, try to import the specific page directly
-      return import(`./${normalizedPageName}`).catch((directError) => {
-        console.log(
-          `Failed to load ./${normalizedPageName}, trying alternate paths...`
-        );
-
-        // Try one more pattern - component file inside directory
-        return import(`./${normalizedPageName}/${normalizedPageName}`).catch(
-          (alternateError) => {
-            console.log(
-              `All import attempts failed for ${normalizedPageName}, using generated component`
-            );
-
-            // If all imports fail, use the generated component
-            setLoadError(true);
-
-            // Return the generated component
-            return {
-              default: GeneratedComponent,
-            };
-          }
-        );
-      });
-    });
-  });
+  // If no page name is provided, show an error
+  if (!FallbackComponent) {
+    return <PageNotFound pageName={pageName || "unknown"} />;
+  }
 
-  // Render the dynamic component with a loading fallback
-  return (
-    <Suspense fallback={<LoadingComponent />}>
-      {/* <DynamicComponent /> */}
-      <MJBCrud></MJBCrud>
-    </Suspense>
-  );
+  return <FallbackComponent />;
 };
 
 export default DynamicPageLoader;
@@ -0,0 +1,8 @@
+// Generated by the code generator from routeRegistry.json - do not edit by hand.
+// Each page is its own chunk, loaded the first time its route is visited.
+import { lazy } from "react";
+
+const generatedRoutes = {
+};
+
+export default generatedRoutes;